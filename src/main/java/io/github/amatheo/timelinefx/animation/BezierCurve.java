@@ -1,15 +1,25 @@
 package io.github.amatheo.timelinefx.animation;
 
-import org.joml.Vector2d;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class BezierCurve implements TemporalCurve {
 
-    private final Vector2d p1;
-    private final Vector2d p2;
+    // Samples of the inverse x -> t, uniformly spaced in x
+    private static final int TABLE_SIZE = 64;
+    private static final int MAX_REFINEMENT_STEPS = 4;
+    private static final int MAX_INTERNED_TABLES = 1024;
+    private static final Map<ControlPoints, Table> TABLES = new ConcurrentHashMap<>();
+
+    private final Table table;
 
     /**
      * Creates a cubic Bézier curve for easing.
      * Control points P0 (0,0) and P3 (1,1) are implicit.
+     * <p>
+     * The inverse of x(t) is tabulated once per distinct set of control points and shared between
+     * every curve using them, so {@link #map(double)} costs a table lookup and a Newton refinement.
+     * </p>
      *
      * @param p1x X coordinate of the first control point.
      * @param p1y Y coordinate of the first control point.
@@ -17,8 +27,7 @@ public final class BezierCurve implements TemporalCurve {
      * @param p2y Y coordinate of the second control point.
      */
     public BezierCurve(double p1x, double p1y, double p2x, double p2y) {
-        this.p1 = new Vector2d(clamp01(p1x), p1y);
-        this.p2 = new Vector2d(clamp01(p2x), p2y);
+        this.table = intern(new ControlPoints(clamp01(p1x), p1y, clamp01(p2x), p2y));
     }
 
     @Override
@@ -26,32 +35,34 @@ public final class BezierCurve implements TemporalCurve {
         if (progress <= 0.0) return 0.0;
         if (progress >= 1.0) return 1.0;
 
-        double t = solveTforX(progress);
-        return cubicBezier(t, 0, p1.y, p2.y, 1.0);
+        double t = table.solveTforX(progress);
+        return table.y(t);
     }
 
-    private double cubicBezier(double t, double c0, double c1, double c2, double c3) {
-        double t2 = t * t;
-        double t3 = t2 * t;
-        double mt = 1.0 - t;
-        double mt2 = mt * mt;
-        double mt3 = mt2 * mt;
-        return c0 * mt3 + 3.0 * c1 * mt2 * t + 3.0 * c2 * mt * t2 + c3 * t3;
+    /**
+     * The table this curve maps progress through, shared by the curves with the same control points.
+     */
+    Object table() {
+        return table;
     }
 
-    // Solves for t given x using Newton-Raphson method
-    private double solveTforX(double x) {
-        double t = x; // Initial estimate
-        for (int i = 0; i < 8; i++) {
-            double x_t = cubicBezier(t, 0, p1.x, p2.x, 1.0) - x;
-            double dx_dt = 3.0 * (1.0 - t) * (1.0 - t) * (p1.x - 0.0)
-                         + 6.0 * (1.0 - t) * t * (p2.x - p1.x)
-                         + 3.0 * t * t * (1.0 - p2.x);
-            if (Math.abs(dx_dt) < 1e-6) break;
-            double dt = x_t / dx_dt;
-            t -= dt;
-        }
-        return t;
+    /**
+     * Number of distinct control point sets currently sharing an interned table.
+     */
+    static int internedTableCount() {
+        return TABLES.size();
+    }
+
+    private static Table intern(ControlPoints points) {
+        Table table = TABLES.get(points);
+        if (table != null) {
+            return table;
+        }
+        if (TABLES.size() >= MAX_INTERNED_TABLES) {
+            // Procedurally generated curves should not grow the cache without bound
+            return new Table(points);
+        }
+        return TABLES.computeIfAbsent(points, Table::new);
     }
 
     private static double clamp01(double value) {
@@ -59,4 +70,84 @@ public final class BezierCurve implements TemporalCurve {
         if (value > 1.0) return 1.0;
         return value;
     }
+
+    private record ControlPoints(double p1x, double p1y, double p2x, double p2y) {}
+
+    /**
+     * Polynomial coefficients of the curve plus a sampled inverse of x(t).
+     * x(t) = ((ax * t + bx) * t + cx) * t, and likewise for y.
+     */
+    private static final class Table {
+        private final double ax, bx, cx;
+        private final double ay, by, cy;
+        private final double[] tForX = new double[TABLE_SIZE + 1];
+
+        Table(ControlPoints points) {
+            this.cx = 3.0 * points.p1x();
+            this.bx = 3.0 * (points.p2x() - points.p1x()) - cx;
+            this.ax = 1.0 - cx - bx;
+            this.cy = 3.0 * points.p1y();
+            this.by = 3.0 * (points.p2y() - points.p1y()) - cy;
+            this.ay = 1.0 - cy - by;
+
+            for (int i = 0; i <= TABLE_SIZE; i++) {
+                tForX[i] = solveExactly((double) i / TABLE_SIZE);
+            }
+        }
+
+        double x(double t) {
+            return ((ax * t + bx) * t + cx) * t;
+        }
+
+        double y(double t) {
+            return ((ay * t + by) * t + cy) * t;
+        }
+
+        double dxdt(double t) {
+            return (3.0 * ax * t + 2.0 * bx) * t + cx;
+        }
+
+        // Table lookup with linear interpolation, refined by Newton-Raphson. One step is enough
+        // almost everywhere; the cells next to a flat slope may take one or two more.
+        double solveTforX(double x) {
+            double scaled = x * TABLE_SIZE;
+            int index = Math.min((int) scaled, TABLE_SIZE - 1);
+            double lo = tForX[index];
+            double hi = tForX[index + 1];
+            double t = lo + (hi - lo) * (scaled - index);
+
+            for (int i = 0; i < MAX_REFINEMENT_STEPS; i++) {
+                double error = x(t) - x;
+                double slope = dxdt(t);
+                if (Math.abs(error) < 1e-9 || Math.abs(slope) < 1e-6) break;
+                t -= error / slope;
+                if (t < lo) t = lo;
+                if (t > hi) t = hi;
+            }
+            return t;
+        }
+
+        // Used while building the table: Newton-Raphson with a bisection fallback
+        private double solveExactly(double x) {
+            double t = x;
+            for (int i = 0; i < 8; i++) {
+                double error = x(t) - x;
+                if (Math.abs(error) < 1e-12 && t >= 0.0 && t <= 1.0) return t;
+                double slope = dxdt(t);
+                if (Math.abs(slope) < 1e-6) break;
+                t -= error / slope;
+            }
+
+            double lo = 0.0;
+            double hi = 1.0;
+            t = 0.5;
+            for (int i = 0; i < 64; i++) {
+                double value = x(t);
+                if (Math.abs(value - x) < 1e-12) break;
+                if (value < x) lo = t; else hi = t;
+                t = (lo + hi) * 0.5;
+            }
+            return t;
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package io.github.amatheo.timelinefx.animation;
+
+/**
+ * Evaluator for the span between two consecutive keyframes of a {@link PropertyChannel}.
+ * <p>
+ * Produced once per segment by {@link KeyframeInterpolator#compile}, so that everything depending
+ * only on the two keyframes (tangents, polynomial coefficients, normalized endpoints...) is computed
+ * when the channel is built rather than on every sample.
+ * </p>
+ *
+ * @param <T> the type of the interpolated values
+ */
+@FunctionalInterface
+public interface CompiledSegment<T> {
+  /**
+   * @param progress the eased progress through the segment, usually in [0,1]
+   * @return the interpolated value
+   */
+  T evaluate(double progress);
+
+  /**
+   * Same as {@link #evaluate} but may write the result into {@code out} instead of allocating.
+   * Callers must use the returned value, which is {@code out} only for mutable types that support it.
+   *
+   * @param out storage obtained from {@link KeyframeInterpolator#createStorage()}, or {@code null}
+   */
+  default T evaluateInto(double progress, T out) {
+    return evaluate(progress);
+  }
+}
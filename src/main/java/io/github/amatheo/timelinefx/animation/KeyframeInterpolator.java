@@ -1,5 +1,61 @@
 package io.github.amatheo.timelinefx.animation;
 
+import java.util.Objects;
+
 public interface KeyframeInterpolator<T> {
   T interpolate(Keyframe<T> from, Keyframe<T> to, double progress, double segmentDurationSeconds);
+
+  /**
+   * In-place variant of {@link #interpolate} for mutable value types. Implementations write the
+   * result into {@code out} and return it; the default simply returns a new value from
+   * {@link #interpolate}. Callers must always use the returned value.
+   *
+   * @param out storage obtained from {@link #createStorage()}, or {@code null} to allocate
+   */
+  default T interpolateInto(Keyframe<T> from, Keyframe<T> to, double progress, double segmentDurationSeconds,
+                            T out) {
+    return interpolate(from, to, progress, segmentDurationSeconds);
+  }
+
+  /**
+   * Returns a new mutable value that {@link #interpolateInto} can write into, or {@code null} when
+   * values of this type are immutable and always returned by reference.
+   */
+  default T createStorage() {
+    return null;
+  }
+
+  /**
+   * Returns true when every value of the segment between {@code from} and {@code to} is the same,
+   * whatever the progress and easing. Used to detect the time intervals over which a channel does
+   * not change. The default holds for equal values without tangents.
+   */
+  default boolean isStationary(Keyframe<T> from, Keyframe<T> to) {
+    return from.outTangent().isEmpty()
+        && to.inTangent().isEmpty()
+        && Objects.equals(from.value(), to.value());
+  }
+
+  /**
+   * Prepares the evaluation of the segment between {@code from} and {@code to}.
+   * Called once per segment when a {@link PropertyChannel} is built. Keyframes are treated as
+   * immutable from that point on.
+   * <p>
+   * The default implementation simply defers to {@link #interpolate}; interpolators override it to
+   * hoist per-segment constants out of the sampling path.
+   * </p>
+   */
+  default CompiledSegment<T> compile(Keyframe<T> from, Keyframe<T> to, double segmentDurationSeconds) {
+    return new CompiledSegment<>() {
+      @Override
+      public T evaluate(double progress) {
+        return interpolate(from, to, progress, segmentDurationSeconds);
+      }
+
+      @Override
+      public T evaluateInto(double progress, T out) {
+        return interpolateInto(from, to, progress, segmentDurationSeconds, out);
+      }
+    };
+  }
 }
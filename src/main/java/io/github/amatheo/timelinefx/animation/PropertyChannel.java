@@ -10,6 +10,12 @@ public final class PropertyChannel<T> implements Animatable<T> {
   private final KeyframeInterpolator<T> interpolator;
   private final Extrapolation preBehavior;
   private final Extrapolation postBehavior;
+  // Keyframe times, and the segment starting at each keyframe compiled once at build time
+  private final double[] times;
+  private final CompiledSegment<T>[] segments;
+  private final List<TimeInterval> staticIntervals;
+  private final boolean constant;
+  private final T constantValue;
 
   PropertyChannel(List<Keyframe<T>> keyframes, KeyframeInterpolator<T> interpolator,
                   Extrapolation preBehavior, Extrapolation postBehavior) {
@@ -20,6 +26,81 @@ public final class PropertyChannel<T> implements Animatable<T> {
     this.interpolator = Objects.requireNonNull(interpolator, "interpolator");
     this.preBehavior = Objects.requireNonNull(preBehavior, "preBehavior");
     this.postBehavior = Objects.requireNonNull(postBehavior, "postBehavior");
+    this.times = new double[this.keyframes.size()];
+    this.segments = compile(this.keyframes, interpolator, times);
+    this.staticIntervals = findStaticIntervals(this.keyframes, interpolator, preBehavior, postBehavior);
+    this.constant = staticIntervals.equals(List.of(TimeInterval.ALL));
+    // Constant channels are folded into a single value, shared read-only by every sample
+    this.constantValue = constant ? evaluate(remapTime(startTimeSeconds()), null) : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> CompiledSegment<T>[] compile(List<Keyframe<T>> keyframes,
+                                                  KeyframeInterpolator<T> interpolator,
+                                                  double[] times) {
+    CompiledSegment<T>[] segments = new CompiledSegment[Math.max(0, keyframes.size() - 1)];
+    for (int i = 0; i < keyframes.size(); i++) {
+      times[i] = keyframes.get(i).time();
+    }
+    for (int i = 0; i < segments.length; i++) {
+      Keyframe<T> current = keyframes.get(i);
+      Keyframe<T> next = keyframes.get(i + 1);
+      double segmentDuration = next.time() - current.time();
+      // Zero-length segments jump straight to the next value and need no evaluator
+      segments[i] = segmentDuration > 0.0d
+          ? Objects.requireNonNull(interpolator.compile(current, next, segmentDuration), "compiled segment")
+          : null;
+    }
+    return segments;
+  }
+
+  /**
+   * Collects the closed intervals of channel time over which sampling always yields the same value:
+   * runs of stationary segments, plus the HOLD regions before the first and after the last keyframe.
+   */
+  private static <T> List<TimeInterval> findStaticIntervals(List<Keyframe<T>> keyframes,
+                                                            KeyframeInterpolator<T> interpolator,
+                                                            Extrapolation preBehavior,
+                                                            Extrapolation postBehavior) {
+    int segmentCount = keyframes.size() - 1;
+    boolean[] stationary = new boolean[segmentCount];
+    boolean allStationary = true;
+    for (int i = 0; i < segmentCount; i++) {
+      stationary[i] = interpolator.isStationary(keyframes.get(i), keyframes.get(i + 1));
+      allStationary &= stationary[i];
+    }
+    if (allStationary || keyframes.getLast().time() <= keyframes.getFirst().time()) {
+      return List.of(TimeInterval.ALL);
+    }
+
+    List<TimeInterval> intervals = new ArrayList<>();
+    int i = 0;
+    if (preBehavior == Extrapolation.HOLD) {
+      while (i < segmentCount && stationary[i]) i++;
+      intervals.add(new TimeInterval(Double.NEGATIVE_INFINITY, keyframes.get(i).time()));
+    }
+    while (i < segmentCount) {
+      if (!stationary[i]) {
+        i++;
+        continue;
+      }
+      int end = i;
+      while (end < segmentCount && stationary[end]) end++;
+      // A keyframe time samples the segment ending there, so inner runs start just after it
+      double startSeconds = (i == 0) ? keyframes.get(0).time() : Math.nextUp(keyframes.get(i).time());
+      double endSeconds = (end == segmentCount && postBehavior == Extrapolation.HOLD)
+          ? Double.POSITIVE_INFINITY
+          : keyframes.get(end).time();
+      if (startSeconds <= endSeconds) {
+        intervals.add(new TimeInterval(startSeconds, endSeconds));
+      }
+      i = end;
+    }
+    if (postBehavior == Extrapolation.HOLD
+        && (intervals.isEmpty() || intervals.getLast().endSeconds() != Double.POSITIVE_INFINITY)) {
+      intervals.add(new TimeInterval(Math.nextUp(keyframes.getLast().time()), Double.POSITIVE_INFINITY));
+    }
+    return List.copyOf(intervals);
   }
 
   private static <T> List<Keyframe<T>> sorted(List<Keyframe<T>> input) {
@@ -44,6 +125,20 @@ public final class PropertyChannel<T> implements Animatable<T> {
     return endTimeSeconds() - startTimeSeconds();
   }
 
+  /**
+   * Returns true when the channel yields the same value at any time.
+   */
+  public boolean isConstant() {
+    return constant;
+  }
+
+  /**
+   * Sorted, disjoint closed intervals of channel time over which the sampled value does not change.
+   */
+  public List<TimeInterval> staticIntervals() {
+    return staticIntervals;
+  }
+
   public Extrapolation preBehavior() {
     return preBehavior;
   }
@@ -54,26 +149,66 @@ public final class PropertyChannel<T> implements Animatable<T> {
 
   @Override
   public T get(long tick, double tSeconds) {
+    return sample(tSeconds, null);
+  }
+
+  /**
+   * Samples the channel, writing interpolated values into {@code out} when the value type supports
+   * it. Keyframe values held by the channel may still be returned by reference, so callers must use
+   * the returned value, treat it as read-only and keep passing their own {@code out}.
+   *
+   * @param out storage obtained from {@link #createStorage()}, or {@code null} to allocate
+   */
+  public T getInto(long tick, double tSeconds, T out) {
+    return sample(tSeconds, out);
+  }
+
+  /**
+   * Returns reusable storage for {@link #getInto}, or {@code null} for immutable value types.
+   */
+  public T createStorage() {
+    return interpolator.createStorage();
+  }
+
+  private T sample(double tSeconds, T out) {
+    if (constant) {
+      return constantValue;
+    }
+    return evaluate(remapTime(tSeconds), out);
+  }
+
+  private T evaluate(double time, T out) {
     if (keyframes.size() == 1) {
       return keyframes.getFirst().value();
     }
-    double time = remapTime(tSeconds);
-    for (int i = 0; i < keyframes.size() - 1; i++) {
-      Keyframe<T> current = keyframes.get(i);
-      Keyframe<T> next = keyframes.get(i + 1);
-      if (time <= next.time()) {
-        double segmentDuration = next.time() - current.time();
-        if (segmentDuration <= 0.0d) {
-          return next.value();
-        }
-        double rawProgress = (time - current.time()) / segmentDuration;
-
-        double easedProgress = current.curve().map(rawProgress);
+    int last = times.length - 1;
+    if (!(time <= times[last])) {
+      return keyframes.getLast().value();
+    }
 
-        return interpolator.interpolate(current, next, easedProgress, segmentDuration);
+    // First keyframe at or after time, past the first one
+    int lo = 1;
+    int hi = last;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (time <= times[mid]) {
+        hi = mid;
+      } else {
+        lo = mid + 1;
       }
     }
-    return keyframes.getLast().value();
+
+    int index = lo - 1;
+    CompiledSegment<T> segment = segments[index];
+    if (segment == null) {
+      return keyframes.get(lo).value();
+    }
+    double segmentDuration = times[lo] - times[index];
+    double rawProgress = (time - times[index]) / segmentDuration;
+
+    double easedProgress = keyframes.get(index).curve().map(rawProgress);
+
+    return (out != null) ? segment.evaluateInto(easedProgress, out) : segment.evaluate(easedProgress);
   }
 
   private double remapTime(double tSeconds) {
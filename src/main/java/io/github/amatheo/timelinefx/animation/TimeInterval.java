@@ -0,0 +1,32 @@
+package io.github.amatheo.timelinefx.animation;
+
+/**
+ * Closed range of time, in seconds. Either bound may be infinite.
+ */
+public record TimeInterval(double startSeconds, double endSeconds) {
+  public static final TimeInterval ALL =
+      new TimeInterval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+  public TimeInterval {
+    if (!(startSeconds <= endSeconds)) {
+      throw new IllegalArgumentException("startSeconds must be <= endSeconds");
+    }
+  }
+
+  public boolean contains(double tSeconds) {
+    return tSeconds >= startSeconds && tSeconds <= endSeconds;
+  }
+
+  public TimeInterval shift(double offsetSeconds) {
+    return new TimeInterval(startSeconds + offsetSeconds, endSeconds + offsetSeconds);
+  }
+
+  /**
+   * @return the overlap of both intervals, or {@code null} when they are disjoint
+   */
+  public TimeInterval intersect(TimeInterval other) {
+    double start = Math.max(startSeconds, other.startSeconds);
+    double end = Math.min(endSeconds, other.endSeconds);
+    return start <= end ? new TimeInterval(start, end) : null;
+  }
+}
@@ -0,0 +1,59 @@
+package io.github.amatheo.timelinefx.animation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source of version stamps for sampled values.
+ * <p>
+ * Every stamp is unique for the lifetime of the process, so two equal stamps always denote the same
+ * write of the same value, wherever they were read from. Consumers can remember the stamp of a value
+ * and skip all work while it is unchanged. Stamps are positive; {@link #ABSENT} marks a missing
+ * value and {@link #UNTRACKED} one whose changes are not tracked.
+ * </p>
+ * <p>
+ * Values stamped on every sample should take their stamps from a {@link Counter}, which reserves
+ * them from the shared sequence a block at a time.
+ * </p>
+ */
+public final class Versions {
+  public static final long ABSENT = 0L;
+  /**
+   * Stamp of a value that may differ on every read. It never matches a stamp seen before, including
+   * itself.
+   */
+  public static final long UNTRACKED = Long.MIN_VALUE;
+
+  private static final int BLOCK_SIZE = 4096;
+  private static final AtomicLong NEXT = new AtomicLong();
+
+  private Versions() {
+  }
+
+  public static long next() {
+    return NEXT.incrementAndGet();
+  }
+
+  /**
+   * Returns true if a value stamped {@code version} is known to be the one stamped {@code seen}.
+   */
+  public static boolean unchanged(long version, long seen) {
+    return version == seen && version != UNTRACKED;
+  }
+
+  /**
+   * Hands out stamps from blocks reserved from the shared sequence, so that only the reservation
+   * of a block touches shared state. Not thread-safe.
+   */
+  public static final class Counter {
+    private long next;
+    private long end;
+
+    public long next() {
+      if (next == end) {
+        next = NEXT.getAndAdd(BLOCK_SIZE) + 1;
+        end = next + BLOCK_SIZE;
+      }
+      return next++;
+    }
+  }
+}
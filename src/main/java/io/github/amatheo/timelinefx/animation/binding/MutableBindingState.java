@@ -1,22 +1,67 @@
 package io.github.amatheo.timelinefx.animation.binding;
 
+import io.github.amatheo.timelinefx.animation.Versions;
 import io.github.amatheo.timelinefx.transform.Transform;
 import org.joml.Quaterniond;
 import org.joml.Vector3d;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-final class MutableBindingState {
-  private final Vector3d position;
-  private final Vector3d scale;
-  private final Quaterniond rotation;
-  private final Map<String, Object> parameters = new HashMap<>();
+/**
+ * Reusable output of {@link TimelineBindings#evaluateInto}. A state is owned by one caller and
+ * rewritten by every evaluation, so it holds its vectors, parameter values and {@link BindingResult}
+ * for its whole life instead of allocating them per tick.
+ * <p>
+ * Parameters are stored by slot, as numbered by {@link TimelineBindings#parameterNames()}; an absent
+ * parameter has a {@code null} slot. Each slot also carries the version stamp of its value, as
+ * reported by its {@link io.github.amatheo.timelinefx.animation.value.ValueProvider}.
+ * {@link BindingResult#parameters()} is a read-only map view of the slots.
+ * </p>
+ */
+public final class MutableBindingState {
+  private final Vector3d position = new Vector3d();
+  private final Vector3d scale = new Vector3d(1, 1, 1);
+  private final Quaterniond rotation = new Quaterniond();
+  private final String[] parameterNames;
+  private final Object[] parameters;
+  private final long[] parameterVersions;
+  private final Transform transform = new Transform(position, rotation, scale);
+  private final BindingResult result = new BindingResult(transform, new ParameterView());
+  // Scratch storage for rotation deltas and anchor transforms
+  private final Quaterniond scratchRotation = new Quaterniond();
+  private final Transform anchor = new Transform(new Vector3d(), new Quaterniond(), new Vector3d(1, 1, 1));
 
-  MutableBindingState(Transform baseTransform) {
-    this.position = new Vector3d(baseTransform.position());
-    this.scale = new Vector3d(baseTransform.scale());
-    this.rotation = new Quaterniond(baseTransform.rotation());
+  // Parameters are overwritten in place rather than cleared, so a missing value may only remove
+  // an entry that no earlier binding wrote during the same evaluation
+  private final int[] parameterPasses;
+  private int pass;
+
+  MutableBindingState(String[] parameterNames) {
+    this.parameterNames = parameterNames;
+    this.parameters = new Object[parameterNames.length];
+    this.parameterVersions = new long[parameterNames.length];
+    this.parameterPasses = new int[parameterNames.length];
+  }
+
+  void beginEvaluation() {
+    pass++;
+  }
+
+  Transform transform() {
+    return transform;
+  }
+
+  Quaterniond scratchRotation() {
+    return scratchRotation;
+  }
+
+  Transform anchorScratch() {
+    return anchor;
   }
 
   void overrideTransform(Transform transform) {
@@ -61,12 +106,112 @@ final class MutableBindingState {
     this.rotation.mul(delta);
   }
 
-  void setParameter(String name, Object value) {
-    this.parameters.put(name, value);
+  void setParameter(int slot, Object value, long version) {
+    this.parameters[slot] = value;
+    this.parameterVersions[slot] = version;
+    parameterPasses[slot] = pass;
+  }
+
+  void removeParameter(int slot) {
+    if (parameterPasses[slot] != pass) {
+      this.parameters[slot] = null;
+      this.parameterVersions[slot] = Versions.ABSENT;
+    }
+  }
+
+  /**
+   * Returns the value of the parameter in {@code slot}, or {@code null} if it is absent.
+   */
+  public Object parameter(int slot) {
+    return parameters[slot];
+  }
+
+  /**
+   * Returns the version stamp of the parameter in {@code slot}, or {@link Versions#ABSENT}.
+   */
+  public long parameterVersion(int slot) {
+    return parameterVersions[slot];
+  }
+
+  public int parameterCount() {
+    return parameters.length;
+  }
+
+  /**
+   * Returns the live result of the last evaluation. The same instance is returned every time, and
+   * its transform and parameters change with the next evaluation.
+   */
+  public BindingResult result() {
+    return result;
   }
 
   BindingResult toResult() {
-    Transform transform = new Transform(new Vector3d(position), new Quaterniond(rotation), new Vector3d(scale));
-    return new BindingResult(transform, Map.copyOf(parameters));
+    Transform copy = new Transform(new Vector3d(position), new Quaterniond(rotation), new Vector3d(scale));
+    return new BindingResult(copy, Map.copyOf(result.parameters()));
+  }
+
+  private int slotOf(Object name) {
+    for (int i = 0; i < parameterNames.length; i++) {
+      if (parameterNames[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private final class ParameterView extends AbstractMap<String, Object> {
+    @Override
+    public Object get(Object key) {
+      int slot = slotOf(key);
+      return slot >= 0 ? parameters[slot] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          return new Iterator<>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+              while (from < parameters.length && parameters[from] == null) {
+                from++;
+              }
+              return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+              return next < parameters.length;
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              Entry<String, Object> entry = new SimpleImmutableEntry<>(parameterNames[next], parameters[next]);
+              next = advance(next + 1);
+              return entry;
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          int size = 0;
+          for (Object value : parameters) {
+            if (value != null) size++;
+          }
+          return size;
+        }
+      };
+    }
   }
 }
@@ -1,8 +1,10 @@
 package io.github.amatheo.timelinefx.animation.binding;
 
+import io.github.amatheo.timelinefx.animation.timeline.Timeline;
 import io.github.amatheo.timelinefx.animation.timeline.TimelineSnapshot;
 import io.github.amatheo.timelinefx.animation.value.ValueProvider;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -12,27 +14,45 @@ import java.util.Objects;
 final class ParameterBinding implements TimelineBinding {
 
   private final String name;
+  private final int slot;
   private final ValueProvider<?> valueProvider;
 
   /**
    * Create a new ParameterBinding.
    *
    * @param name          The name of the parameter to bind. Must not be blank.
+   * @param slot          The slot of the parameter within its bindings.
    * @param valueProvider The provider of the value. Must not be null.
    */
-  ParameterBinding(String name, ValueProvider<?> valueProvider) {
+  ParameterBinding(String name, int slot, ValueProvider<?> valueProvider) {
     if (name.isBlank()) {
       throw new IllegalArgumentException("Parameter name must not be blank");
     }
     this.name = Objects.requireNonNull(name, "name");
+    this.slot = slot;
     this.valueProvider = Objects.requireNonNull(valueProvider, "valueProvider");
   }
 
+  String name() {
+    return name;
+  }
+
+  int slot() {
+    return slot;
+  }
+
+  List<?> keyValues(Timeline timeline) {
+    return valueProvider.keyValues(timeline);
+  }
+
   @Override
   public void apply(TimelineSnapshot snapshot, MutableBindingState state) {
     Object value = valueProvider.get(snapshot);
     if (value != null) {
-      state.setParameter(name, value);
+      state.setParameter(slot, value, valueProvider.version(snapshot));
+    } else {
+      // The state is reused across evaluations; drop a value left by a previous one
+      state.removeParameter(slot);
     }
   }
 }
@@ -1,21 +1,42 @@
 package io.github.amatheo.timelinefx.animation.binding;
 
 import io.github.amatheo.timelinefx.animation.target.TransformProvider;
+import io.github.amatheo.timelinefx.animation.timeline.Timeline;
 import io.github.amatheo.timelinefx.animation.timeline.TimelineSnapshot;
 import io.github.amatheo.timelinefx.animation.value.ValueProvider;
 import io.github.amatheo.timelinefx.transform.Transform;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public final class TimelineBindings {
   private final Transform transform;
   private final ValueProvider<TransformProvider> anchorProvider;
-  private final List<TimelineBinding> bindings;
+  private final TimelineBinding[] bindings;
+  private final String[] parameterNames;
 
   private TimelineBindings(Transform transform, ValueProvider<TransformProvider> anchorProvider, List<TimelineBinding> bindings) {
     this.transform = transform;
     this.anchorProvider = anchorProvider;
-    this.bindings = List.copyOf(bindings);
+    this.bindings = bindings.toArray(new TimelineBinding[0]);
+    this.parameterNames = collectParameterNames(this.bindings);
+  }
+
+  private static String[] collectParameterNames(TimelineBinding[] bindings) {
+    int count = 0;
+    for (TimelineBinding binding : bindings) {
+      if (binding instanceof ParameterBinding parameter) {
+        count = Math.max(count, parameter.slot() + 1);
+      }
+    }
+    String[] names = new String[count];
+    for (TimelineBinding binding : bindings) {
+      if (binding instanceof ParameterBinding parameter) {
+        names[parameter.slot()] = parameter.name();
+      }
+    }
+    return names;
   }
 
   /**
@@ -25,28 +46,83 @@ public final class TimelineBindings {
     return new TimelineBindings(transform, anchorProvider, bindings);
   }
 
+  /**
+   * Returns true when {@link #evaluate} is a pure function of the snapshot, so its result can be
+   * reused for as long as the snapshot does not change. An anchor makes the result follow a moving
+   * target instead.
+   */
+  public boolean dependsOnlyOnSnapshot() {
+    return anchorProvider == null;
+  }
+
+  /**
+   * Names of the parameters these bindings produce, indexed by slot.
+   *
+   * @see MutableBindingState#parameter(int)
+   */
+  public List<String> parameterNames() {
+    return List.of(parameterNames);
+  }
+
+  /**
+   * Values each parameter is known to take while {@code timeline} plays, by parameter name.
+   * Parameters without known values are left out.
+   *
+   * @see ValueProvider#keyValues(Timeline)
+   */
+  public Map<String, List<?>> parameterKeyValues(Timeline timeline) {
+    Map<String, List<?>> values = new LinkedHashMap<>();
+    for (TimelineBinding binding : bindings) {
+      if (binding instanceof ParameterBinding parameter) {
+        List<?> known = parameter.keyValues(timeline);
+        if (!known.isEmpty()) {
+          values.put(parameter.name(), known);
+        }
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Evaluates the bindings into a new, independent result.
+   */
   public BindingResult evaluate(TimelineSnapshot snapshot) {
-    Transform seed;
+    return evaluateInto(snapshot, newState()).toResult();
+  }
 
+  /**
+   * Creates reusable storage for {@link #evaluateInto}.
+   */
+  public MutableBindingState newState() {
+    return new MutableBindingState(parameterNames);
+  }
+
+  /**
+   * Evaluates the bindings into {@code state} without allocating in steady state.
+   *
+   * @param state storage from {@link #newState()}, dedicated to these bindings
+   * @return {@code state}
+   */
+  public MutableBindingState evaluateInto(TimelineSnapshot snapshot, MutableBindingState state) {
+    state.beginEvaluation();
     TransformProvider currentProvider = (anchorProvider != null)
         ? anchorProvider.get(snapshot)
         : null;
 
-    if (currentProvider != null) {
-      Transform dynamicTransform = currentProvider.getTransform();
-      // If the provider returns null, we ignore it and use only the base setTransform.
-      seed = (dynamicTransform != null)
-          ? Transform.compose(transform, dynamicTransform)
-          : transform;
+    Transform dynamicTransform = (currentProvider != null)
+        ? currentProvider.getTransformInto(state.anchorScratch())
+        : null;
+    if (dynamicTransform != null) {
+      Transform.compose(transform, dynamicTransform, state.transform());
     } else {
-      seed = transform;
+      // No anchor, or the provider returned null: use only the base transform
+      state.overrideTransform(transform);
     }
 
-    MutableBindingState state = new MutableBindingState(seed);
     for (TimelineBinding binding : bindings) {
       binding.apply(snapshot, state);
     }
-    return state.toResult();
+    return state;
   }
 
   public static TimelineBindingsBuilder builder() {
@@ -21,6 +21,7 @@ public final class TimelineBindingsBuilder {
   private Transform transform = Transform.identity();
   private ValueProvider<TransformProvider> anchorProvider;
   private final List<TimelineBinding> bindings = new ArrayList<>();
+  private final List<String> parameterNames = new ArrayList<>();
   private final TransformBinding.Builder transformBindingBuilder = TransformBinding.builder();
   private boolean transformBindingAdded = false;
 
@@ -51,7 +52,7 @@ public final class TimelineBindingsBuilder {
 
   /** Binds a custom parameter to a timeline property. */
   public <T> TimelineBindingsBuilder bindParameter(String name, TimelineProperty<T> property) {
-    bindings.add(new ParameterBinding(name, new AnimatedValue<>(property)));
+    bindings.add(new ParameterBinding(name, parameterSlot(name), new AnimatedValue<>(property)));
     return this;
   }
 
@@ -59,7 +60,7 @@ public final class TimelineBindingsBuilder {
    * Binds a parameter with a default value when not present in the timeline.
    */
   public <T> TimelineBindingsBuilder bindParameter(String name, TimelineProperty<T> property, T defaultValue) {
-    bindings.add(new ParameterBinding(name, new AnimatedValue<>(property, defaultValue)));
+    bindings.add(new ParameterBinding(name, parameterSlot(name), new AnimatedValue<>(property, defaultValue)));
     return this;
   }
 
@@ -67,10 +68,20 @@ public final class TimelineBindingsBuilder {
    * Define a parameter linked to a property that provides a constant value.
    */
   public TimelineBindingsBuilder setParameter(String name, Object value) {
-    bindings.add(new ParameterBinding(name, new ConstantValue<>(value)));
+    bindings.add(new ParameterBinding(name, parameterSlot(name), new ConstantValue<>(value)));
     return this;
   }
 
+  // Bindings of the same name share a slot, so the last one to produce a value wins
+  private int parameterSlot(String name) {
+    int slot = parameterNames.indexOf(name);
+    if (slot < 0) {
+      slot = parameterNames.size();
+      parameterNames.add(name);
+    }
+    return slot;
+  }
+
   public TimelineBindingsBuilder setPosition(Vector3d value) {
     transformBindingBuilder.position(new ConstantValue<>(value));
     return this;
@@ -13,32 +13,90 @@ import java.util.Map;
 
 final class TransformBinding implements TimelineBinding {
 
-  private final ValueProvider<Transform> transformProvider;
-  private final ValueProvider<Vector3d> positionProvider;
-  private final Map<TransformAxis, ValueProvider<Double>> positionComponentProviders;
-  private final ValueProvider<Vector3d> scaleProvider;
-  private final ValueProvider<Double> uniformScaleProvider;
-  private final Map<TransformAxis, ValueProvider<Double>> scaleComponentProviders;
-  private final ValueProvider<Quaterniond> rotationProvider;
-  private final ValueProvider<Vector3d> eulerRotationProvider;
-  private final Map<TransformAxis, ValueProvider<Double>> eulerComponentProviders;
-  private final List<AxisAngleRotation> axisAngleRotations;
+  /**
+   * One step of the compiled program. Steps read each provider once and write straight into the
+   * state, using its scratch storage for intermediate rotations.
+   */
+  @FunctionalInterface
+  private interface Op {
+    void apply(TimelineSnapshot snapshot, MutableBindingState state);
+  }
+
+  private final Op[] program;
 
   private TransformBinding(Builder builder) {
-    this.transformProvider = builder.transformProvider;
-    this.positionProvider = builder.positionProvider;
-    this.positionComponentProviders = Map.copyOf(builder.positionComponentProviders);
-    this.scaleProvider = builder.scaleProvider;
-    this.uniformScaleProvider = builder.uniformScaleProvider;
-    this.scaleComponentProviders = Map.copyOf(builder.scaleComponentProviders);
-    this.rotationProvider = builder.rotationProvider;
-    this.eulerRotationProvider = builder.eulerRotationProvider;
-    this.eulerComponentProviders = Map.copyOf(builder.eulerComponentProviders);
-    this.axisAngleRotations = List.copyOf(builder.axisAngleRotations);
+    this.program = compile(builder);
   }
 
-  private static Quaterniond quaternionFromEuler(double rotX, double rotY, double rotZ) {
-    return new Quaterniond().rotateY(rotY).rotateX(rotX).rotateZ(rotZ);
+  /**
+   * Flattens the configured providers into the evaluation order: transform, position, scale, then
+   * rotations composed as Quaternion -> Euler -> AxisAngle. Providers that were not configured
+   * produce no step.
+   */
+  private static Op[] compile(Builder builder) {
+    List<Op> ops = new ArrayList<>();
+
+    ValueProvider<Transform> transformProvider = builder.transformProvider;
+    if (transformProvider != null) {
+      ops.add((snapshot, state) -> {
+        Transform value = transformProvider.get(snapshot);
+        if (value != null) state.overrideTransform(value);
+      });
+    }
+    ValueProvider<Vector3d> positionProvider = builder.positionProvider;
+    if (positionProvider != null) {
+      ops.add((snapshot, state) -> {
+        Vector3d value = positionProvider.get(snapshot);
+        if (value != null) state.setPosition(value);
+      });
+    }
+    for (var entry : builder.positionComponentProviders.entrySet()) {
+      TransformAxis axis = entry.getKey();
+      ValueProvider<Double> provider = entry.getValue();
+      ops.add((snapshot, state) -> {
+        Double value = provider.get(snapshot);
+        if (value != null) state.setPositionComponent(axis, value);
+      });
+    }
+    ValueProvider<Vector3d> scaleProvider = builder.scaleProvider;
+    if (scaleProvider != null) {
+      ops.add((snapshot, state) -> {
+        Vector3d value = scaleProvider.get(snapshot);
+        if (value != null) state.setScale(value);
+      });
+    }
+    ValueProvider<Double> uniformScaleProvider = builder.uniformScaleProvider;
+    if (uniformScaleProvider != null) {
+      ops.add((snapshot, state) -> {
+        Double value = uniformScaleProvider.get(snapshot);
+        if (value != null) state.setUniformScale(value);
+      });
+    }
+    for (var entry : builder.scaleComponentProviders.entrySet()) {
+      TransformAxis axis = entry.getKey();
+      ValueProvider<Double> provider = entry.getValue();
+      ops.add((snapshot, state) -> {
+        Double value = provider.get(snapshot);
+        if (value != null) state.setScaleComponent(axis, value);
+      });
+    }
+
+    ValueProvider<Quaterniond> rotationProvider = builder.rotationProvider;
+    if (rotationProvider != null) {
+      ops.add((snapshot, state) -> {
+        Quaterniond value = rotationProvider.get(snapshot);
+        if (value != null) state.applyRotation(value);
+      });
+    }
+    if (builder.eulerRotationProvider != null || !builder.eulerComponentProviders.isEmpty()) {
+      ops.add(new EulerRotation(builder.eulerRotationProvider,
+          builder.eulerComponentProviders.get(TransformAxis.X),
+          builder.eulerComponentProviders.get(TransformAxis.Y),
+          builder.eulerComponentProviders.get(TransformAxis.Z)));
+    }
+    ops.addAll(builder.axisAngleRotations);
+
+    return ops.toArray(new Op[0]);
   }
 
   static Builder builder() {
@@ -47,64 +105,8 @@ final class TransformBinding implements TimelineBinding {
 
   @Override
   public void apply(TimelineSnapshot snapshot, MutableBindingState state) {
-
-    if (transformProvider != null && transformProvider.get(snapshot) != null) {
-      state.overrideTransform(transformProvider.get(snapshot));
-    }
-    if (positionProvider != null && positionProvider.get(snapshot) != null) {
-      state.setPosition(positionProvider.get(snapshot));
-    }
-    for (var entry : positionComponentProviders.entrySet()) {
-      Double component = entry.getValue().get(snapshot);
-      if (component != null) state.setPositionComponent(entry.getKey(), component);
-    }
-    if (scaleProvider != null && scaleProvider.get(snapshot) != null) {
-      state.setScale(scaleProvider.get(snapshot));
-    }
-    if (uniformScaleProvider != null && uniformScaleProvider.get(snapshot) != null) {
-      state.setUniformScale(uniformScaleProvider.get(snapshot));
-    }
-    for (var entry : scaleComponentProviders.entrySet()) {
-      Double component = entry.getValue().get(snapshot);
-      if (component != null) state.setScaleComponent(entry.getKey(), component);
-    }
-
-    // Compose rotations in a defined order (Quaternion -> Euler -> AxisAngle)
-    if (rotationProvider != null && rotationProvider.get(snapshot) != null) {
-      state.applyRotation(rotationProvider.get(snapshot));
-    }
-    applyEulerRotation(snapshot, state);
-    for (AxisAngleRotation rotation : axisAngleRotations) {
-      rotation.apply(snapshot, state);
-    }
-  }
-
-  private void applyEulerRotation(TimelineSnapshot snapshot, MutableBindingState state) {
-    double x = 0.0, y = 0.0, z = 0.0;
-    boolean hasValue = false;
-
-    if (eulerRotationProvider != null) {
-      Vector3d euler = eulerRotationProvider.get(snapshot);
-      if (euler != null) {
-        x = euler.x;
-        y = euler.y;
-        z = euler.z;
-        hasValue = true;
-      }
-    }
-    for (var entry : eulerComponentProviders.entrySet()) {
-      Double value = entry.getValue().get(snapshot);
-      if (value != null) {
-        hasValue = true;
-        switch (entry.getKey()) {
-          case X -> x = value;
-          case Y -> y = value;
-          case Z -> z = value;
-        }
-      }
-    }
-    if (hasValue) {
-      state.applyRotation(quaternionFromEuler(x, y, z));
+    for (Op op : program) {
+      op.apply(snapshot, state);
     }
   }
 
@@ -186,18 +188,62 @@ final class TransformBinding implements TimelineBinding {
     }
   }
 
+  /**
+   * Euler rotation from a vector provider, with per-axis providers overriding its components.
+   * Applied only when at least one of them yields a value.
+   */
+  private record EulerRotation(ValueProvider<Vector3d> vectorProvider, ValueProvider<Double> xProvider,
+                               ValueProvider<Double> yProvider, ValueProvider<Double> zProvider) implements Op {
+
+    @Override
+    public void apply(TimelineSnapshot snapshot, MutableBindingState state) {
+      double x = 0.0, y = 0.0, z = 0.0;
+      boolean hasValue = false;
+
+      if (vectorProvider != null) {
+        Vector3d euler = vectorProvider.get(snapshot);
+        if (euler != null) {
+          x = euler.x;
+          y = euler.y;
+          z = euler.z;
+          hasValue = true;
+        }
+      }
+      Double value;
+      if (xProvider != null && (value = xProvider.get(snapshot)) != null) {
+        x = value;
+        hasValue = true;
+      }
+      if (yProvider != null && (value = yProvider.get(snapshot)) != null) {
+        y = value;
+        hasValue = true;
+      }
+      if (zProvider != null && (value = zProvider.get(snapshot)) != null) {
+        z = value;
+        hasValue = true;
+      }
+      if (hasValue) {
+        state.applyRotation(state.scratchRotation().rotationYXZ(y, x, z));
+      }
+    }
+  }
+
   /**
    * Simplified representation of an axis-angle rotation using ValueProviders.
    */
-  private record AxisAngleRotation(ValueProvider<Vector3d> axisProvider, ValueProvider<Double> angleProvider) {
+  private record AxisAngleRotation(ValueProvider<Vector3d> axisProvider, ValueProvider<Double> angleProvider)
+      implements Op {
 
+    @Override
     public void apply(TimelineSnapshot snapshot, MutableBindingState state) {
       Vector3d axis = axisProvider.get(snapshot);
       Double angle = angleProvider.get(snapshot);
 
       if (axis != null && angle != null && angle != 0.0 && axis.lengthSquared() > 1e-12) {
-        Vector3d normalized = new Vector3d(axis).normalize();
-        Quaterniond delta = new Quaterniond().rotateAxis(angle, normalized.x, normalized.y, normalized.z);
+        double invLength = 1.0 / Math.sqrt(axis.lengthSquared());
+        Quaterniond delta = state.scratchRotation()
+            .identity()
+            .rotateAxis(angle, axis.x * invLength, axis.y * invLength, axis.z * invLength);
         state.applyRotation(delta);
       }
     }
@@ -1,5 +1,6 @@
 package io.github.amatheo.timelinefx.animation.interpolator;
 
+import io.github.amatheo.timelinefx.animation.CompiledSegment;
 import io.github.amatheo.timelinefx.animation.Keyframe;
 import io.github.amatheo.timelinefx.animation.KeyframeInterpolator;
 
@@ -28,6 +29,31 @@ public final class DoubleKeyframeInterpolator implements KeyframeInterpolator<Do
     return start + (end - start) * progress;
   }
 
+  @Override
+  public CompiledSegment<Double> compile(Keyframe<Double> from, Keyframe<Double> to, double segmentDurationSeconds) {
+    double start = from.value();
+    double end = to.value();
+    if (segmentDurationSeconds <= 0.0d) {
+      return progress -> end;
+    }
+
+    Double m0 = from.outTangent().orElse(null);
+    Double m1 = to.inTangent().orElse(null);
+    if (m0 == null && m1 == null) {
+      double delta = end - start;
+      return progress -> start + delta * progress;
+    }
+
+    double slope = (end - start) / segmentDurationSeconds;
+    double v0 = ((m0 != null) ? m0 : slope) * segmentDurationSeconds;
+    double v1 = ((m1 != null) ? m1 : slope) * segmentDurationSeconds;
+
+    // Hermite basis expanded to ((a * s + b) * s + v0) * s + start
+    double a = 2.0 * start + v0 - 2.0 * end + v1;
+    double b = -3.0 * start - 2.0 * v0 + 3.0 * end - v1;
+    return progress -> ((a * progress + b) * progress + v0) * progress + start;
+  }
+
   private static double hermite(Keyframe<Double> from, Keyframe<Double> to, double progress, double duration) {
     Double m0 = from.outTangent().orElse(null);
     Double m1 = to.inTangent().orElse(null);
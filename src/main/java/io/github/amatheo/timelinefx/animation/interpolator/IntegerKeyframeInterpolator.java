@@ -1,5 +1,6 @@
 package io.github.amatheo.timelinefx.animation.interpolator;
 
+import io.github.amatheo.timelinefx.animation.CompiledSegment;
 import io.github.amatheo.timelinefx.animation.Keyframe;
 import io.github.amatheo.timelinefx.animation.KeyframeInterpolator;
 
@@ -29,6 +30,32 @@ public final class IntegerKeyframeInterpolator implements KeyframeInterpolator<I
     return clampToInt(Math.round(linear));
   }
 
+  @Override
+  public CompiledSegment<Integer> compile(Keyframe<Integer> from, Keyframe<Integer> to, double segmentDurationSeconds) {
+    if (segmentDurationSeconds <= 0.0d) {
+      Integer end = to.value();
+      return progress -> end;
+    }
+
+    double start = from.value();
+    double end = to.value();
+    Integer m0 = from.outTangent().orElse(null);
+    Integer m1 = to.inTangent().orElse(null);
+    if (m0 == null && m1 == null) {
+      double delta = end - start;
+      return progress -> clampToInt(Math.round(start + delta * progress));
+    }
+
+    double slope = (end - start) / segmentDurationSeconds;
+    double v0 = ((m0 != null) ? m0.doubleValue() : slope) * segmentDurationSeconds;
+    double v1 = ((m1 != null) ? m1.doubleValue() : slope) * segmentDurationSeconds;
+
+    // Hermite basis expanded to ((a * s + b) * s + v0) * s + start
+    double a = 2.0 * start + v0 - 2.0 * end + v1;
+    double b = -3.0 * start - 2.0 * v0 + 3.0 * end - v1;
+    return progress -> clampToInt(Math.round(((a * progress + b) * progress + v0) * progress + start));
+  }
+
   private static double hermite(Keyframe<Integer> from, Keyframe<Integer> to, double progress, double duration) {
     Integer m0 = from.outTangent().orElse(null);
     Integer m1 = to.inTangent().orElse(null);
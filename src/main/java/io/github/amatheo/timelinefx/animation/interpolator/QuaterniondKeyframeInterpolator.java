@@ -1,5 +1,6 @@
 package io.github.amatheo.timelinefx.animation.interpolator;
 
+import io.github.amatheo.timelinefx.animation.CompiledSegment;
 import io.github.amatheo.timelinefx.animation.Keyframe;
 import io.github.amatheo.timelinefx.animation.KeyframeInterpolator;
 import org.joml.Quaterniond;
@@ -20,33 +21,44 @@ public final class QuaterniondKeyframeInterpolator implements KeyframeInterpolat
   @Override
   public Quaterniond interpolate(Keyframe<Quaterniond> from, Keyframe<Quaterniond> to, double progress,
                                  double segmentDurationSeconds) {
+    return interpolateInto(from, to, progress, segmentDurationSeconds, new Quaterniond());
+  }
+
+  @Override
+  public Quaterniond interpolateInto(Keyframe<Quaterniond> from, Keyframe<Quaterniond> to, double progress,
+                                     double segmentDurationSeconds, Quaterniond out) {
+    Quaterniond result = (out != null) ? out : new Quaterniond();
     if (progress <= 0.0d) {
-      return new Quaterniond(from.value());
+      return result.set(from.value());
     }
     if (progress >= 1.0d) {
-      return new Quaterniond(to.value());
+      return result.set(to.value());
     }
 
-    Quaterniond a = new Quaterniond(from.value()).normalize();
-    Quaterniond b = new Quaterniond(to.value()).normalize();
+    Quaterniond a = from.value();
+    Quaterniond b = to.value();
+    double invLengthA = 1.0d / Math.sqrt(a.x * a.x + a.y * a.y + a.z * a.z + a.w * a.w);
+    double invLengthB = 1.0d / Math.sqrt(b.x * b.x + b.y * b.y + b.z * b.z + b.w * b.w);
+    double ax = a.x * invLengthA, ay = a.y * invLengthA, az = a.z * invLengthA, aw = a.w * invLengthA;
+    double bx = b.x * invLengthB, by = b.y * invLengthB, bz = b.z * invLengthB, bw = b.w * invLengthB;
 
-    double dot = a.dot(b);
+    double dot = ax * bx + ay * by + az * bz + aw * bw;
     if (dot < 0.0d) {
       // Ensure we take the shortest path
-      b.x = -b.x;
-      b.y = -b.y;
-      b.z = -b.z;
-      b.w = -b.w;
+      bx = -bx;
+      by = -by;
+      bz = -bz;
+      bw = -bw;
       dot = -dot;
     }
 
     if (dot > 0.9995d) {
       // Quaternions are very close; fall back to lerp to avoid precision issues
-      a.x += progress * (b.x - a.x);
-      a.y += progress * (b.y - a.y);
-      a.z += progress * (b.z - a.z);
-      a.w += progress * (b.w - a.w);
-      return new Quaterniond(a).normalize();
+      return result.set(
+          ax + progress * (bx - ax),
+          ay + progress * (by - ay),
+          az + progress * (bz - az),
+          aw + progress * (bw - aw)).normalize();
     }
 
     double theta0 = Math.acos(dot);
@@ -57,11 +69,93 @@ public final class QuaterniondKeyframeInterpolator implements KeyframeInterpolat
     double s0 = Math.cos(theta) - dot * sinTheta / sinTheta0;
     double s1 = sinTheta / sinTheta0;
 
-    double x = s0 * a.x + s1 * b.x;
-    double y = s0 * a.y + s1 * b.y;
-    double z = s0 * a.z + s1 * b.z;
-    double w = s0 * a.w + s1 * b.w;
+    return result.set(
+        s0 * ax + s1 * bx,
+        s0 * ay + s1 * by,
+        s0 * az + s1 * bz,
+        s0 * aw + s1 * bw).normalize();
+  }
+
+  @Override
+  public Quaterniond createStorage() {
+    return new Quaterniond();
+  }
+
+  @Override
+  public CompiledSegment<Quaterniond> compile(Keyframe<Quaterniond> from, Keyframe<Quaterniond> to,
+                                              double segmentDurationSeconds) {
+    return new SlerpSegment(from.value(), to.value());
+  }
+
+  /**
+   * Slerp with both endpoints normalized and sign-corrected up front, and the arc angle cached.
+   */
+  private static final class SlerpSegment implements CompiledSegment<Quaterniond> {
+    private final Quaterniond from;
+    private final Quaterniond to;
+    private final Quaterniond a;
+    private final Quaterniond b;
+    private final double dot;
+    private final boolean nearlyParallel;
+    private final double theta0;
+    private final double invSinTheta0;
+
+    SlerpSegment(Quaterniond from, Quaterniond to) {
+      this.from = new Quaterniond(from);
+      this.to = new Quaterniond(to);
+      this.a = new Quaterniond(from).normalize();
+      Quaterniond end = new Quaterniond(to).normalize();
+
+      double d = a.dot(end);
+      if (d < 0.0d) {
+        // Ensure we take the shortest path
+        end.x = -end.x;
+        end.y = -end.y;
+        end.z = -end.z;
+        end.w = -end.w;
+        d = -d;
+      }
+      this.b = end;
+      this.dot = d;
+      this.nearlyParallel = d > 0.9995d;
+      this.theta0 = nearlyParallel ? 0.0d : Math.acos(d);
+      this.invSinTheta0 = nearlyParallel ? 0.0d : 1.0d / Math.sin(theta0);
+    }
+
+    @Override
+    public Quaterniond evaluate(double progress) {
+      return evaluateInto(progress, new Quaterniond());
+    }
+
+    @Override
+    public Quaterniond evaluateInto(double progress, Quaterniond out) {
+      Quaterniond result = (out != null) ? out : new Quaterniond();
+      if (progress <= 0.0d) {
+        return result.set(from);
+      }
+      if (progress >= 1.0d) {
+        return result.set(to);
+      }
+
+      if (nearlyParallel) {
+        // Quaternions are very close; fall back to lerp to avoid precision issues
+        return result.set(
+            a.x + progress * (b.x - a.x),
+            a.y + progress * (b.y - a.y),
+            a.z + progress * (b.z - a.z),
+            a.w + progress * (b.w - a.w)).normalize();
+      }
 
-    return new Quaterniond(x, y, z, w).normalize();
+      double theta = theta0 * progress;
+      double sinTheta = Math.sin(theta);
+      double s0 = Math.cos(theta) - dot * sinTheta * invSinTheta0;
+      double s1 = sinTheta * invSinTheta0;
+
+      return result.set(
+          s0 * a.x + s1 * b.x,
+          s0 * a.y + s1 * b.y,
+          s0 * a.z + s1 * b.z,
+          s0 * a.w + s1 * b.w).normalize();
+    }
   }
 }
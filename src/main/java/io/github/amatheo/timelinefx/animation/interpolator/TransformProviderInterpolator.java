@@ -33,4 +33,27 @@ public final class TransformProviderInterpolator implements KeyframeInterpolator
         // Between keyframes, we create a dynamic provider that handles the transition.
         return new InterpolatedTransformProvider(from.value(), to.value(), progress);
     }
+
+    /**
+     * Reuses {@code out} for the transition provider instead of creating one per sample.
+     */
+    @Override
+    public TransformProvider interpolateInto(Keyframe<TransformProvider> from, Keyframe<TransformProvider> to,
+                                             double progress, double segmentDurationSeconds, TransformProvider out) {
+        if (progress <= 0.0) {
+            return from.value();
+        }
+        if (progress >= 1.0) {
+            return to.value();
+        }
+        if (out instanceof InterpolatedTransformProvider interpolated) {
+            return interpolated.set(from.value(), to.value(), progress);
+        }
+        return new InterpolatedTransformProvider(from.value(), to.value(), progress);
+    }
+
+    @Override
+    public TransformProvider createStorage() {
+        return new InterpolatedTransformProvider(null, null, 0.0);
+    }
 }
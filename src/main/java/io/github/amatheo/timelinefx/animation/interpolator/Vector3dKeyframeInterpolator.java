@@ -1,5 +1,6 @@
 package io.github.amatheo.timelinefx.animation.interpolator;
 
+import io.github.amatheo.timelinefx.animation.CompiledSegment;
 import io.github.amatheo.timelinefx.animation.Keyframe;
 import io.github.amatheo.timelinefx.animation.KeyframeInterpolator;
 import org.joml.Vector3d;
@@ -19,31 +20,57 @@ public final class Vector3dKeyframeInterpolator implements KeyframeInterpolator<
   @Override
   public Vector3d interpolate(Keyframe<Vector3d> from, Keyframe<Vector3d> to, double progress,
                               double segmentDurationSeconds) {
+    return interpolateInto(from, to, progress, segmentDurationSeconds, new Vector3d());
+  }
+
+  @Override
+  public Vector3d interpolateInto(Keyframe<Vector3d> from, Keyframe<Vector3d> to, double progress,
+                                  double segmentDurationSeconds, Vector3d out) {
+    Vector3d result = (out != null) ? out : new Vector3d();
     if (segmentDurationSeconds <= 0.0d) {
-      return new Vector3d(to.value());
+      return result.set(to.value());
     }
 
-    Vector3d hermite = hermite(from, to, progress, segmentDurationSeconds);
-    if (hermite != null) {
-      return hermite;
+    if (hermite(from, to, progress, segmentDurationSeconds, result)) {
+      return result;
     }
 
-    return new Vector3d(from.value()).lerp(to.value(), progress);
+    return result.set(from.value()).lerp(to.value(), progress);
+  }
+
+  @Override
+  public Vector3d createStorage() {
+    return new Vector3d();
   }
 
-  private static Vector3d hermite(Keyframe<Vector3d> from, Keyframe<Vector3d> to,
-                                  double progress, double duration) {
+  @Override
+  public CompiledSegment<Vector3d> compile(Keyframe<Vector3d> from, Keyframe<Vector3d> to,
+                                          double segmentDurationSeconds) {
+    if (segmentDurationSeconds <= 0.0d) {
+      return new ConstantSegment(to.value());
+    }
+    return new HermiteSegment(from, to, segmentDurationSeconds);
+  }
+
+  private static boolean hermite(Keyframe<Vector3d> from, Keyframe<Vector3d> to,
+                                 double progress, double duration, Vector3d out) {
     Vector3d m0 = from.outTangent().orElse(null);
     Vector3d m1 = to.inTangent().orElse(null);
     if (m0 == null && m1 == null) {
-      return null;
+      return false;
     }
 
-    Vector3d start = new Vector3d(from.value());
-    Vector3d end = new Vector3d(to.value());
-    Vector3d slope = new Vector3d(end).sub(start).div(duration);
-    Vector3d tangent0 = (m0 != null) ? new Vector3d(m0) : new Vector3d(slope);
-    Vector3d tangent1 = (m1 != null) ? new Vector3d(m1) : new Vector3d(slope);
+    Vector3d start = from.value();
+    Vector3d end = to.value();
+    double slopeX = (end.x - start.x) / duration;
+    double slopeY = (end.y - start.y) / duration;
+    double slopeZ = (end.z - start.z) / duration;
+    double t0x = (m0 != null) ? m0.x : slopeX;
+    double t0y = (m0 != null) ? m0.y : slopeY;
+    double t0z = (m0 != null) ? m0.z : slopeZ;
+    double t1x = (m1 != null) ? m1.x : slopeX;
+    double t1y = (m1 != null) ? m1.y : slopeY;
+    double t1z = (m1 != null) ? m1.z : slopeZ;
 
     double t2 = progress * progress;
     double t3 = t2 * progress;
@@ -53,10 +80,89 @@ public final class Vector3dKeyframeInterpolator implements KeyframeInterpolator<
     double h01 = -2.0 * t3 + 3.0 * t2;
     double h11 = t3 - t2;
 
-    Vector3d result = new Vector3d();
-    result.x = h00 * start.x + h10 * tangent0.x * duration + h01 * end.x + h11 * tangent1.x * duration;
-    result.y = h00 * start.y + h10 * tangent0.y * duration + h01 * end.y + h11 * tangent1.y * duration;
-    result.z = h00 * start.z + h10 * tangent0.z * duration + h01 * end.z + h11 * tangent1.z * duration;
-    return result;
+    out.set(
+        h00 * start.x + h10 * t0x * duration + h01 * end.x + h11 * t1x * duration,
+        h00 * start.y + h10 * t0y * duration + h01 * end.y + h11 * t1y * duration,
+        h00 * start.z + h10 * t0z * duration + h01 * end.z + h11 * t1z * duration);
+    return true;
+  }
+
+  /**
+   * Cubic p(s) = ((a * s + b) * s + c) * s + d per component. Without tangents a and b are zero and
+   * the segment degenerates to a lerp.
+   */
+  private static final class HermiteSegment implements CompiledSegment<Vector3d> {
+    private final double ax, ay, az;
+    private final double bx, by, bz;
+    private final double cx, cy, cz;
+    private final double dx, dy, dz;
+
+    HermiteSegment(Keyframe<Vector3d> from, Keyframe<Vector3d> to, double duration) {
+      Vector3d start = from.value();
+      Vector3d end = to.value();
+      Vector3d m0 = from.outTangent().orElse(null);
+      Vector3d m1 = to.inTangent().orElse(null);
+
+      this.dx = start.x;
+      this.dy = start.y;
+      this.dz = start.z;
+      if (m0 == null && m1 == null) {
+        this.ax = this.ay = this.az = 0.0d;
+        this.bx = this.by = this.bz = 0.0d;
+        this.cx = end.x - start.x;
+        this.cy = end.y - start.y;
+        this.cz = end.z - start.z;
+        return;
+      }
+
+      double v0x = (m0 != null) ? m0.x * duration : end.x - start.x;
+      double v0y = (m0 != null) ? m0.y * duration : end.y - start.y;
+      double v0z = (m0 != null) ? m0.z * duration : end.z - start.z;
+      double v1x = (m1 != null) ? m1.x * duration : end.x - start.x;
+      double v1y = (m1 != null) ? m1.y * duration : end.y - start.y;
+      double v1z = (m1 != null) ? m1.z * duration : end.z - start.z;
+
+      this.ax = 2.0 * start.x + v0x - 2.0 * end.x + v1x;
+      this.ay = 2.0 * start.y + v0y - 2.0 * end.y + v1y;
+      this.az = 2.0 * start.z + v0z - 2.0 * end.z + v1z;
+      this.bx = -3.0 * start.x - 2.0 * v0x + 3.0 * end.x - v1x;
+      this.by = -3.0 * start.y - 2.0 * v0y + 3.0 * end.y - v1y;
+      this.bz = -3.0 * start.z - 2.0 * v0z + 3.0 * end.z - v1z;
+      this.cx = v0x;
+      this.cy = v0y;
+      this.cz = v0z;
+    }
+
+    @Override
+    public Vector3d evaluate(double s) {
+      return evaluateInto(s, new Vector3d());
+    }
+
+    @Override
+    public Vector3d evaluateInto(double s, Vector3d out) {
+      Vector3d result = (out != null) ? out : new Vector3d();
+      return result.set(
+          ((ax * s + bx) * s + cx) * s + dx,
+          ((ay * s + by) * s + cy) * s + dy,
+          ((az * s + bz) * s + cz) * s + dz);
+    }
+  }
+
+  private static final class ConstantSegment implements CompiledSegment<Vector3d> {
+    private final Vector3d value;
+
+    ConstantSegment(Vector3d value) {
+      this.value = new Vector3d(value);
+    }
+
+    @Override
+    public Vector3d evaluate(double progress) {
+      return new Vector3d(value);
+    }
+
+    @Override
+    public Vector3d evaluateInto(double progress, Vector3d out) {
+      return (out != null) ? out.set(value) : new Vector3d(value);
+    }
   }
 }
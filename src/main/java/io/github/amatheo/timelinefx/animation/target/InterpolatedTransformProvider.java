@@ -7,40 +7,69 @@ import org.joml.Vector3d;
 /**
  * A TransformProvider that smoothly interpolates between two other TransformProviders.
  * This is used to create a seamless transition when the animation anchor changes.
+ * <p>
+ * The endpoints are read into scratch transforms owned by the instance, so
+ * {@link #getTransformInto} allocates nothing; an instance must not be evaluated by two threads at
+ * once.
+ * </p>
  */
 public final class InterpolatedTransformProvider implements TransformProvider {
 
-    private final TransformProvider from;
-    private final TransformProvider to;
-    private final double progress;
+    private TransformProvider from;
+    private TransformProvider to;
+    private double progress;
+    private final Transform fromScratch = Transform.identity();
+    private final Transform toScratch = Transform.identity();
 
     public InterpolatedTransformProvider(TransformProvider from, TransformProvider to, double progress) {
+        set(from, to, progress);
+    }
+
+    /**
+     * Points this provider at another pair of endpoints, so that interpolators can reuse it from
+     * one sample to the next.
+     *
+     * @return this provider
+     */
+    public InterpolatedTransformProvider set(TransformProvider from, TransformProvider to, double progress) {
         this.from = from;
         this.to = to;
         this.progress = Math.max(0.0, Math.min(1.0, progress));
+        return this;
     }
 
     @Override
     public Transform getTransform() {
-        Transform fromTransform = from.getTransform();
-        Transform toTransform = to.getTransform();
+        return getTransformInto(null);
+    }
+
+    @Override
+    public Transform getTransformInto(Transform out) {
+        Transform fromTransform = from.getTransformInto(fromScratch);
+        Transform toTransform = to.getTransformInto(toScratch);
 
         // If one of the providers is invalid, snap to the other one
         if (fromTransform == null && toTransform == null) {
             return null;
         }
+
+        Transform result = (out != null)
+            ? out
+            : new Transform(new Vector3d(), new Quaterniond(), new Vector3d());
+
+        // The scratch transforms stay private to this provider
         if (fromTransform == null) {
-            return toTransform;
+            return result.set(toTransform);
         }
         if (toTransform == null) {
-            return fromTransform;
+            return result.set(fromTransform);
         }
 
         // Interpolate position, rotation, and scale
-        Vector3d position = new Vector3d(fromTransform.position()).lerp(toTransform.position(), progress);
-        Quaterniond rotation = new Quaterniond(fromTransform.rotation()).slerp(toTransform.rotation(), progress);
-        Vector3d scale = new Vector3d(fromTransform.scale()).lerp(toTransform.scale(), progress);
+        result.position().set(fromTransform.position()).lerp(toTransform.position(), progress);
+        result.rotation().set(fromTransform.rotation()).slerp(toTransform.rotation(), progress);
+        result.scale().set(fromTransform.scale()).lerp(toTransform.scale(), progress);
 
-        return new Transform(position, rotation, scale);
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -14,4 +14,16 @@ public interface TransformProvider {
    * @return The current transform, or null if the target is no longer valid.
    */
   Transform getTransform();
+
+  /**
+   * Writes the current transform into {@code out} when the provider supports it, avoiding the
+   * allocation of a new {@link Transform}. The default returns {@link #getTransform()}, so callers
+   * must always use the returned value.
+   *
+   * @param out transform whose vectors may be overwritten
+   * @return the current transform, or null if the target is no longer valid.
+   */
+  default Transform getTransformInto(Transform out) {
+    return getTransform();
+  }
 }
\ No newline at end of file
@@ -1,22 +1,37 @@
 package io.github.amatheo.timelinefx.animation.timeline;
 
 import io.github.amatheo.timelinefx.animation.Animatable;
+import io.github.amatheo.timelinefx.animation.TimeInterval;
 import io.github.amatheo.timelinefx.animation.timeline.builder.TimelineBuilder;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public final class Timeline implements Animatable<TimelineSnapshot> {
   private final List<TrackEntry<?>> entries;
+  private final Map<TimelineProperty<?>, Integer> indices;
   private final double durationSeconds;
+  // Closed intervals over which no track changes, as parallel arrays for binary search
+  private final double[] staticStarts;
+  private final double[] staticEnds;
 
   private Timeline(List<TrackEntry<?>> entries) {
     if (entries.isEmpty()) {
       throw new IllegalArgumentException("timeline requires at least one track");
     }
     this.entries = List.copyOf(entries);
+    this.indices = indexProperties(this.entries);
     this.durationSeconds = computeDuration(entries);
+    List<TimeInterval> windows = findStaticWindows(this.entries);
+    this.staticStarts = new double[windows.size()];
+    this.staticEnds = new double[windows.size()];
+    for (int i = 0; i < windows.size(); i++) {
+      staticStarts[i] = windows.get(i).startSeconds();
+      staticEnds[i] = windows.get(i).endSeconds();
+    }
   }
 
   /**
@@ -26,6 +41,39 @@ public final class Timeline implements Animatable<TimelineSnapshot> {
     return new Timeline(entries);
   }
 
+  // When a property has several tracks, the last one wins
+  private static Map<TimelineProperty<?>, Integer> indexProperties(List<TrackEntry<?>> entries) {
+    Map<TimelineProperty<?>, Integer> indices = new HashMap<>();
+    for (int i = 0; i < entries.size(); i++) {
+      indices.put(entries.get(i).property, i);
+    }
+    return Collections.unmodifiableMap(indices);
+  }
+
+  // Intersection of the static intervals of every track
+  private static List<TimeInterval> findStaticWindows(List<TrackEntry<?>> entries) {
+    List<TimeInterval> windows = List.of(TimeInterval.ALL);
+    for (TrackEntry<?> entry : entries) {
+      List<TimeInterval> track = entry.track.staticIntervals();
+      List<TimeInterval> merged = new ArrayList<>();
+      int a = 0;
+      int b = 0;
+      while (a < windows.size() && b < track.size()) {
+        TimeInterval overlap = windows.get(a).intersect(track.get(b));
+        if (overlap != null) {
+          merged.add(overlap);
+        }
+        if (windows.get(a).endSeconds() < track.get(b).endSeconds()) {
+          a++;
+        } else {
+          b++;
+        }
+      }
+      windows = merged;
+    }
+    return List.copyOf(windows);
+  }
+
   private static double computeDuration(List<TrackEntry<?>> entries) {
     double max = 0.0;
     for (TrackEntry<?> entry : entries) {
@@ -41,6 +89,49 @@ public final class Timeline implements Animatable<TimelineSnapshot> {
     return durationSeconds;
   }
 
+  /**
+   * Returns true when no track ever changes value.
+   */
+  public boolean isConstant() {
+    return staticStarts.length == 1
+        && staticStarts[0] == Double.NEGATIVE_INFINITY
+        && staticEnds[0] == Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Sorted, disjoint closed intervals of timeline time over which no track changes value.
+   */
+  public List<TimeInterval> staticIntervals() {
+    List<TimeInterval> intervals = new ArrayList<>(staticStarts.length);
+    for (int i = 0; i < staticStarts.length; i++) {
+      intervals.add(new TimeInterval(staticStarts[i], staticEnds[i]));
+    }
+    return intervals;
+  }
+
+  /**
+   * Returns the index of the static interval containing {@code tSeconds}, or -1 when some track
+   * changes at that time.
+   */
+  int staticIntervalAt(double tSeconds) {
+    return intervalAt(staticStarts, staticEnds, tSeconds);
+  }
+
+  // Binary search over sorted, disjoint closed intervals given as parallel arrays
+  static int intervalAt(double[] starts, double[] ends, double tSeconds) {
+    int lo = 0;
+    int hi = starts.length - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      if (starts[mid] <= tSeconds) {
+        lo = mid + 1;
+      } else {
+        hi = mid - 1;
+      }
+    }
+    return (hi >= 0 && tSeconds <= ends[hi]) ? hi : -1;
+  }
+
   public <T> TimelineTrack<T> track(TimelineProperty<T> property) {
     for (TrackEntry<?> entry : entries) {
       if (entry.property.equals(property)) {
@@ -54,17 +145,43 @@ public final class Timeline implements Animatable<TimelineSnapshot> {
 
   @Override
   public TimelineSnapshot get(long tick, double tSeconds) {
-    Map<TimelineProperty<?>, Object> values = new HashMap<>();
-    for (TrackEntry<?> entry : entries) {
-      sampleEntry(entry, tick, tSeconds, values);
+    return sampleInto(tick, tSeconds, newSnapshot());
+  }
+
+  /**
+   * Creates a snapshot that {@link #sampleInto} can rewrite on every sample. Vector and rotation
+   * tracks get their own preallocated storage, so sampling into it does not allocate.
+   */
+  public TimelineSnapshot newSnapshot() {
+    Object[] storage = new Object[entries.size()];
+    for (int i = 0; i < storage.length; i++) {
+      storage[i] = entries.get(i).track.createStorage();
+    }
+    return new TimelineSnapshot(this, indices, storage);
+  }
+
+  /**
+   * Samples every track into {@code target}, overwriting the values it held.
+   *
+   * @param target a snapshot created by {@link #newSnapshot()} on this timeline
+   * @return {@code target}
+   */
+  public TimelineSnapshot sampleInto(long tick, double tSeconds, TimelineSnapshot target) {
+    if (target.timeline() != this) {
+      throw new IllegalArgumentException("snapshot was created by another timeline");
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      sampleEntry(entries.get(i), i, tick, tSeconds, target);
     }
-    return TimelineSnapshot.of(values, tSeconds);
+    target.timeSeconds(tSeconds);
+    return target;
   }
 
-  private static <T> void sampleEntry(TrackEntry<T> entry, long tick, double tSeconds,
-                                      Map<TimelineProperty<?>, Object> values) {
-    T value = entry.track.get(tick, tSeconds);
-    values.put(entry.property, value);
+  @SuppressWarnings("unchecked")
+  private static <T> void sampleEntry(TrackEntry<T> entry, int index, long tick, double tSeconds,
+                                      TimelineSnapshot target) {
+    T value = entry.track.getInto(tick, tSeconds, (T) target.storage(index));
+    target.set(index, value, entry.track.staticIntervalAt(tSeconds));
   }
 
   public static TimelineBuilder builder() {
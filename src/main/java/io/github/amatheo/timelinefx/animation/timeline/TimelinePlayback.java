@@ -14,6 +14,10 @@ public final class TimelinePlayback {
   private long startedTick = -1L;
   private boolean finished = false;
   private TimelineSnapshot lastSnapshot;
+  // Rewritten in place on every uncached sample, and held while the timeline is static
+  private TimelineSnapshot ownSnapshot;
+  private int staticInterval = -1;
+  private boolean unchanged = false;
 
   private TimelinePlayback(Builder builder) {
     this.timeline = Objects.requireNonNull(builder.timeline, "timeline");
@@ -33,16 +37,34 @@ public final class TimelinePlayback {
     this.startedTick = startTick;
     this.finished = false;
     this.lastSnapshot = null;
+    this.staticInterval = -1;
+    this.unchanged = false;
   }
 
   public TimelineSnapshot sample(long nowTick, double tickToSeconds) {
+    return sample(nowTick, tickToSeconds, null);
+  }
+
+  /**
+   * Samples the timeline for {@code nowTick}, sharing the snapshot through {@code cache} when given.
+   * <p>
+   * The returned snapshot is mutable and reused. It is only valid until this playback samples
+   * again, and, when it came from {@code cache}, until the cache begins its next tick, whatever this
+   * playback does: other playbacks then sample into it. Copy the values needed beyond that.
+   * </p>
+   *
+   * @param cache engine-scoped cache used to deduplicate identical samples, or {@code null}
+   */
+  public TimelineSnapshot sample(long nowTick, double tickToSeconds, TimelineSampleCache cache) {
     if (startedTick < 0) {
+      unchanged = lastSnapshot != null;
       return lastSnapshot;
     }
 
     double elapsed = (nowTick - startedTick) * tickToSeconds;
     double effective = elapsed - startDelaySeconds;
     if (effective < 0.0) {
+      unchanged = lastSnapshot != null;
       return lastSnapshot;
     }
 
@@ -52,11 +74,76 @@ public final class TimelinePlayback {
       finished = true;
     }
 
-    TimelineSnapshot snapshot = timeline.get(nowTick, timelineSample.timelineSeconds);
+    double timelineSeconds = timelineSample.timelineSeconds;
+    int interval = timeline.staticIntervalAt(timelineSeconds);
+    if (interval >= 0 && interval == staticInterval) {
+      // Still inside the same static interval: the held snapshot is exactly what sampling would give
+      unchanged = true;
+      return lastSnapshot;
+    }
+
+    TimelineSnapshot snapshot;
+    if (interval >= 0) {
+      // Cached snapshots are recycled every tick, so static values are held in our own snapshot
+      snapshot = timeline.sampleInto(nowTick, timelineSeconds, ownSnapshot());
+    } else if (cache != null) {
+      snapshot = cache.sample(timeline, nowTick, timelineSeconds);
+    } else {
+      snapshot = timeline.sampleInto(nowTick, timelineSeconds, ownSnapshot());
+    }
+    staticInterval = interval;
+    unchanged = false;
     lastSnapshot = snapshot;
     return snapshot;
   }
 
+  /**
+   * Returns true when the last {@link #sample} returned the same snapshot as the previous one with
+   * the same values, because the timeline is static around the sampled time. Consumers can then
+   * reuse whatever they derived from it.
+   */
+  public boolean isUnchanged() {
+    return unchanged;
+  }
+
+  private TimelineSnapshot ownSnapshot() {
+    if (ownSnapshot == null) {
+      ownSnapshot = timeline.newSnapshot();
+    }
+    return ownSnapshot;
+  }
+
+  /**
+   * Returns the first tick on which {@link #sample} reads the timeline rather than holding the last
+   * snapshot during the start delay, or {@code -1} when the playback is not started.
+   */
+  public long firstSampledTick(double tickToSeconds) {
+    if (startedTick < 0) {
+      return -1L;
+    }
+    if (!(startDelaySeconds > 0.0) || !(tickToSeconds > 0.0)) {
+      return startedTick;
+    }
+    long ticks = (long) Math.ceil(startDelaySeconds / tickToSeconds);
+    // Settle on the same comparison sample makes, whatever the rounding of the division
+    while (ticks > 0 && (ticks - 1) * tickToSeconds - startDelaySeconds >= 0.0) {
+      ticks--;
+    }
+    while (ticks * tickToSeconds - startDelaySeconds < 0.0) {
+      ticks++;
+    }
+    return startedTick + ticks;
+  }
+
+  public Timeline timeline() {
+    return timeline;
+  }
+
+  /**
+   * Returns the snapshot returned by the last {@link #sample}, with the same lifetime: it may be
+   * rewritten by the next sample of this playback, or recycled by the sample cache as soon as the
+   * engine begins its next tick.
+   */
   public TimelineSnapshot lastSnapshot() {
     return lastSnapshot;
   }
@@ -1,7 +1,5 @@
 package io.github.amatheo.timelinefx.animation.timeline;
 
-import java.util.Objects;
-
 public final class TimelineProperty<T> {
   private final String id;
 
@@ -29,7 +27,7 @@ public final class TimelineProperty<T> {
 
   @Override
   public int hashCode() {
-    return Objects.hash(id);
+    return id.hashCode();
   }
 
   @Override
@@ -0,0 +1,140 @@
+package io.github.amatheo.timelinefx.animation.timeline;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-tick memo of {@link Timeline} samples shared by every {@link TimelinePlayback} of an engine.
+ * <p>
+ * Playbacks that sample the same timeline at the same (quantized) time during a tick receive the
+ * same {@link TimelineSnapshot} instance instead of evaluating every track again. Entries only live
+ * for the tick in which they were computed; the cache is flushed as soon as a new tick begins.
+ * </p>
+ * <p>
+ * Timelines are keyed by identity, and timeline time is bucketed by {@link #quantumSeconds()}. The
+ * first playback to request a bucket computes the snapshot at its exact time; the others reuse it.
+ * </p>
+ * <p>
+ * Snapshots of a finished tick are recycled and sampled into again during the next one, so a
+ * returned snapshot must not be kept beyond the tick it was requested for.
+ * </p>
+ */
+public final class TimelineSampleCache {
+  /** Default bucket width: well below a tick, so only truly concurrent playheads are merged. */
+  public static final double DEFAULT_QUANTUM_SECONDS = 1.0e-4;
+
+  private final double quantumSeconds;
+  private final double inverseQuantum;
+  private final Map<Key, TimelineSnapshot> entries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  // Snapshots of the previous tick, reused per timeline. Guarded by its own monitor: takeSpare runs
+  // inside a ConcurrentHashMap bin lock, so it must never wait for this.
+  private final Map<Timeline, ArrayDeque<TimelineSnapshot>> spares = new HashMap<>();
+  private volatile long currentTick = Long.MIN_VALUE;
+
+  public TimelineSampleCache() {
+    this(DEFAULT_QUANTUM_SECONDS);
+  }
+
+  public TimelineSampleCache(double quantumSeconds) {
+    if (!(quantumSeconds > 0.0) || Double.isInfinite(quantumSeconds)) {
+      throw new IllegalArgumentException("quantumSeconds must be a finite value > 0");
+    }
+    this.quantumSeconds = quantumSeconds;
+    this.inverseQuantum = 1.0 / quantumSeconds;
+  }
+
+  public double quantumSeconds() {
+    return quantumSeconds;
+  }
+
+  /**
+   * Starts a new cache generation. Samples computed during a previous tick are discarded.
+   *
+   * @param tick the tick that is about to be evaluated
+   */
+  public synchronized void beginTick(long tick) {
+    if (tick != currentTick) {
+      recycleEntries();
+      entries.clear();
+      currentTick = tick;
+    }
+  }
+
+  private void recycleEntries() {
+    synchronized (spares) {
+      // Spares left over from the previous tick belong to timelines that are no longer sampled
+      spares.values().removeIf(queue -> !queue.isEmpty());
+      for (TimelineSnapshot snapshot : entries.values()) {
+        spares.computeIfAbsent(snapshot.timeline(), t -> new ArrayDeque<>()).push(snapshot);
+      }
+    }
+  }
+
+  private TimelineSnapshot takeSpare(Timeline timeline) {
+    synchronized (spares) {
+      ArrayDeque<TimelineSnapshot> queue = spares.get(timeline);
+      TimelineSnapshot spare = (queue != null) ? queue.poll() : null;
+      return (spare != null) ? spare : timeline.newSnapshot();
+    }
+  }
+
+  /**
+   * Returns the snapshot of {@code timeline} at {@code tSeconds}, computing it at most once per tick
+   * and time bucket.
+   */
+  public TimelineSnapshot sample(Timeline timeline, long tick, double tSeconds) {
+    Objects.requireNonNull(timeline, "timeline");
+    if (tick != currentTick) {
+      beginTick(tick);
+    }
+    Key key = new Key(timeline, Math.round(tSeconds * inverseQuantum));
+    TimelineSnapshot cached = entries.get(key);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    return entries.computeIfAbsent(key, k -> {
+      misses.increment();
+      return timeline.sampleInto(tick, tSeconds, takeSpare(timeline));
+    });
+  }
+
+  /**
+   * Returns the hit/miss counters accumulated since creation or the last {@link #resetStats()}.
+   */
+  public Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), entries.size());
+  }
+
+  public void resetStats() {
+    hits.reset();
+    misses.reset();
+  }
+
+  /**
+   * Snapshot of the cache counters.
+   *
+   * @param hits    samples served from the cache
+   * @param misses  samples that had to evaluate the timeline
+   * @param entries snapshots currently held for the running tick
+   */
+  public record Stats(long hits, long misses, int entries) {
+    public long requests() {
+      return hits + misses;
+    }
+
+    public double hitRate() {
+      long requests = requests();
+      return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+  }
+
+  // Timeline does not override equals/hashCode, so the key compares timelines by identity.
+  private record Key(Timeline timeline, long bucket) {}
+}
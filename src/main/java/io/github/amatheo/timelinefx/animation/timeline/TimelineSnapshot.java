@@ -1,17 +1,44 @@
 package io.github.amatheo.timelinefx.animation.timeline;
 
-import java.util.Collections;
-import java.util.HashMap;
+import io.github.amatheo.timelinefx.animation.Versions;
+
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Values of every track of a {@link Timeline} at one point in time.
+ * <p>
+ * Snapshots obtained from {@link Timeline#get} are independent. Snapshots handed out by a
+ * {@link TimelinePlayback} or a {@link TimelineSampleCache} are reused and rewritten in place by the
+ * next sample, so they, and the mutable values they contain, are only valid until then.
+ * </p>
+ * <p>
+ * Every value carries a {@link Versions version stamp}, renewed only when the value may have
+ * changed since the previous sample into the same snapshot: a track that stays within one of its
+ * static intervals keeps its stamp.
+ * </p>
+ */
 public final class TimelineSnapshot {
-  private final Map<TimelineProperty<?>, Object> values;
-  private final double timeSeconds;
+  private final Timeline timeline;
+  private final Map<TimelineProperty<?>, Integer> indices;
+  private final Object[] values;
+  // Per-track storage written by in-place interpolation; values may alias these objects
+  private final Object[] storage;
+  private final long[] versions;
+  private final Versions.Counter stamps = new Versions.Counter();
+  // Static interval of its track that each value was sampled in, or -1
+  private final int[] intervals;
+  private double timeSeconds;
 
-  private TimelineSnapshot(Map<TimelineProperty<?>, Object> values, double timeSeconds) {
-    this.values = Collections.unmodifiableMap(new HashMap<>(values));
-    this.timeSeconds = timeSeconds;
+  TimelineSnapshot(Timeline timeline, Map<TimelineProperty<?>, Integer> indices, Object[] storage) {
+    this.timeline = timeline;
+    this.indices = indices;
+    this.values = new Object[storage.length];
+    this.storage = storage;
+    this.versions = new long[storage.length];
+    this.intervals = new int[storage.length];
+    Arrays.fill(intervals, -1);
   }
 
   public double timeSeconds() {
@@ -20,17 +47,50 @@ public final class TimelineSnapshot {
 
   public <T> T get(TimelineProperty<T> property) {
     Objects.requireNonNull(property, "property");
+    Integer index = indices.get(property);
+    if (index == null) {
+      return null;
+    }
     @SuppressWarnings("unchecked")
-    T value = (T) values.get(property);
+    T value = (T) values[index];
     return value;
   }
 
+  /**
+   * Returns the version stamp of the value of {@code property}, or {@link Versions#ABSENT} if the
+   * timeline has no track for it.
+   */
+  public long version(TimelineProperty<?> property) {
+    Objects.requireNonNull(property, "property");
+    Integer index = indices.get(property);
+    return index != null ? versions[index] : Versions.ABSENT;
+  }
+
   public <T> T getOrDefault(TimelineProperty<T> property, T fallback) {
     T value = get(property);
     return value != null ? value : fallback;
   }
 
-  static TimelineSnapshot of(Map<TimelineProperty<?>, Object> values, double timeSeconds) {
-    return new TimelineSnapshot(values, timeSeconds);
+  Timeline timeline() {
+    return timeline;
+  }
+
+  Object storage(int index) {
+    return storage[index];
+  }
+
+  /**
+   * @param interval static interval of the track containing the sampled time, or -1
+   */
+  void set(int index, Object value, int interval) {
+    values[index] = value;
+    if (interval < 0 || interval != intervals[index]) {
+      versions[index] = stamps.next();
+    }
+    intervals[index] = interval;
+  }
+
+  void timeSeconds(double timeSeconds) {
+    this.timeSeconds = timeSeconds;
   }
 }
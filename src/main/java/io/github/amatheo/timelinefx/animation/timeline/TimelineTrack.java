@@ -2,6 +2,7 @@ package io.github.amatheo.timelinefx.animation.timeline;
 
 import io.github.amatheo.timelinefx.animation.Animatable;
 import io.github.amatheo.timelinefx.animation.PropertyChannel;
+import io.github.amatheo.timelinefx.animation.TimeInterval;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -16,12 +17,49 @@ import java.util.Objects;
  */
 public final class TimelineTrack<T> implements Animatable<T> {
   private final List<Segment<T>> segments;
+  private final List<TimeInterval> staticIntervals;
+  private final double[] staticStarts;
+  private final double[] staticEnds;
 
   private TimelineTrack(List<Segment<T>> segments) {
     if (segments.isEmpty()) {
       throw new IllegalArgumentException("timeline track requires at least one segment");
     }
     this.segments = List.copyOf(sorted(segments));
+    this.staticIntervals = findStaticIntervals(this.segments);
+    this.staticStarts = new double[staticIntervals.size()];
+    this.staticEnds = new double[staticIntervals.size()];
+    for (int i = 0; i < staticStarts.length; i++) {
+      staticStarts[i] = staticIntervals.get(i).startSeconds();
+      staticEnds[i] = staticIntervals.get(i).endSeconds();
+    }
+  }
+
+  /**
+   * Maps each channel's static intervals to timeline time, clipped to the range in which its segment
+   * is the one resolved by {@link #get}.
+   */
+  private static <T> List<TimeInterval> findStaticIntervals(List<Segment<T>> segments) {
+    List<TimeInterval> intervals = new ArrayList<>();
+    for (int i = 0; i < segments.size(); i++) {
+      Segment<T> segment = segments.get(i);
+      double activeStart = (i == 0) ? Double.NEGATIVE_INFINITY : segment.startSeconds();
+      double activeEnd = (i == segments.size() - 1)
+          ? Double.POSITIVE_INFINITY
+          : Math.nextDown(segments.get(i + 1).startSeconds());
+      if (activeStart > activeEnd) {
+        continue; // shadowed by a later segment with the same start
+      }
+      TimeInterval active = new TimeInterval(activeStart, activeEnd);
+      double offset = segment.startSeconds() - segment.channel().startTimeSeconds();
+      for (TimeInterval interval : segment.channel().staticIntervals()) {
+        TimeInterval clipped = interval.shift(offset).intersect(active);
+        if (clipped != null) {
+          intervals.add(clipped);
+        }
+      }
+    }
+    return List.copyOf(intervals);
   }
 
   private static <T> List<Segment<T>> sorted(List<Segment<T>> input) {
@@ -43,6 +81,28 @@ public final class TimelineTrack<T> implements Animatable<T> {
     return last.endSeconds();
   }
 
+  /**
+   * Returns true when the track yields the same value at any time.
+   */
+  public boolean isConstant() {
+    return staticIntervals.equals(List.of(TimeInterval.ALL));
+  }
+
+  /**
+   * Sorted, disjoint closed intervals of timeline time over which the sampled value does not change.
+   */
+  public List<TimeInterval> staticIntervals() {
+    return staticIntervals;
+  }
+
+  /**
+   * Returns the index of the static interval containing {@code tSeconds}, or -1 when the value may
+   * change at that time.
+   */
+  int staticIntervalAt(double tSeconds) {
+    return Timeline.intervalAt(staticStarts, staticEnds, tSeconds);
+  }
+
   public double lengthSeconds() {
     return endSeconds() - startSeconds();
   }
@@ -53,6 +113,21 @@ public final class TimelineTrack<T> implements Animatable<T> {
     return segment.sample(tick, tSeconds);
   }
 
+  /**
+   * In-place variant of {@link #get}; see {@link PropertyChannel#getInto}.
+   */
+  public T getInto(long tick, double tSeconds, T out) {
+    Segment<T> segment = resolveSegment(tSeconds);
+    return segment.sampleInto(tick, tSeconds, out);
+  }
+
+  /**
+   * Returns storage reusable across every segment of this track, or {@code null} for immutable types.
+   */
+  public T createStorage() {
+    return segments.getFirst().channel().createStorage();
+  }
+
   private Segment<T> resolveSegment(double tSeconds) {
     Segment<T> candidate = segments.getFirst();
     for (Segment<T> segment : segments) {
@@ -97,5 +172,10 @@ public final class TimelineTrack<T> implements Animatable<T> {
       double relativeTime = channel.startTimeSeconds() + (timelineSeconds - startSeconds);
       return channel.get(tick, relativeTime);
     }
+
+    public T sampleInto(long tick, double timelineSeconds, T out) {
+      double relativeTime = channel.startTimeSeconds() + (timelineSeconds - startSeconds);
+      return channel.getInto(tick, relativeTime, out);
+    }
   }
 }
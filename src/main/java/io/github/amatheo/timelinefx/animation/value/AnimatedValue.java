@@ -1,9 +1,16 @@
 package io.github.amatheo.timelinefx.animation.value;
 
+import io.github.amatheo.timelinefx.animation.Versions;
+import io.github.amatheo.timelinefx.animation.timeline.Timeline;
 import io.github.amatheo.timelinefx.animation.timeline.TimelineProperty;
 import io.github.amatheo.timelinefx.animation.timeline.TimelineSnapshot;
+import io.github.amatheo.timelinefx.animation.timeline.TimelineTrack;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * A ValueProvider that retrieves its value from a TimelineSnapshot using a TimelineProperty.
  * @param <T> the type of the value
@@ -13,6 +20,7 @@ public final class AnimatedValue<T> implements ValueProvider<T> {
 
     @Nullable
     private final T defaultValue;
+    private final long defaultVersion = Versions.next();
 
     public AnimatedValue(TimelineProperty<T> property, @Nullable T defaultValue) {
         this.property = property;
@@ -29,4 +37,35 @@ public final class AnimatedValue<T> implements ValueProvider<T> {
         if (snapshot == null) return defaultValue;
         return snapshot.getOrDefault(property, defaultValue);
     }
+
+    @Override
+    public long version(TimelineSnapshot snapshot) {
+        if (snapshot == null || snapshot.get(property) == null) return defaultVersion;
+        return snapshot.version(property);
+    }
+
+    /**
+     * Returns the default value and the values of the property's track at both ends of each segment.
+     */
+    @Override
+    public List<T> keyValues(Timeline timeline) {
+        Set<T> values = new LinkedHashSet<>();
+        if (defaultValue != null) {
+            values.add(defaultValue);
+        }
+        TimelineTrack<T> track = timeline.track(property);
+        if (track != null) {
+            for (TimelineTrack.Segment<T> segment : track.segments()) {
+                addIfPresent(values, segment.sample(0L, segment.startSeconds()));
+                addIfPresent(values, segment.sample(0L, segment.endSeconds()));
+            }
+        }
+        return List.copyOf(values);
+    }
+
+    private static <T> void addIfPresent(Set<T> values, @Nullable T value) {
+        if (value != null) {
+            values.add(value);
+        }
+    }
 }
\ No newline at end of file
@@ -1,13 +1,18 @@
 package io.github.amatheo.timelinefx.animation.value;
 
+import io.github.amatheo.timelinefx.animation.Versions;
+import io.github.amatheo.timelinefx.animation.timeline.Timeline;
 import io.github.amatheo.timelinefx.animation.timeline.TimelineSnapshot;
 
+import java.util.List;
+
 /**
  * A ValueProvider that always returns a constant value, regardless of the timeline snapshot.
  * @param <T> the type of the value
  */
 public final class ConstantValue<T> implements ValueProvider<T> {
     private final T value;
+    private final long version = Versions.next();
 
     public ConstantValue(T value) {
         this.value = value;
@@ -17,4 +22,14 @@ public final class ConstantValue<T> implements ValueProvider<T> {
     public T get(TimelineSnapshot snapshot) {
         return value;
     }
+
+    @Override
+    public long version(TimelineSnapshot snapshot) {
+        return version;
+    }
+
+    @Override
+    public List<T> keyValues(Timeline timeline) {
+        return value == null ? List.of() : List.of(value);
+    }
 }
\ No newline at end of file
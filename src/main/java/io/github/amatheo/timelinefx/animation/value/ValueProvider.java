@@ -1,7 +1,11 @@
 package io.github.amatheo.timelinefx.animation.value;
 
+import io.github.amatheo.timelinefx.animation.Versions;
+import io.github.amatheo.timelinefx.animation.timeline.Timeline;
 import io.github.amatheo.timelinefx.animation.timeline.TimelineSnapshot;
 
+import java.util.List;
+
 /**
  * Provide a value of type T, possibly based on the current timeline snapshot.
  * This is a functional interface, allowing the use of lambda expressions or method references.
@@ -15,4 +19,26 @@ public interface ValueProvider<T> {
    * @return the value of type T.
    */
   T get(TimelineSnapshot snapshot);
+
+  /**
+   * Get the {@link Versions version stamp} of the value {@link #get} returns for the same snapshot.
+   * The default implementation cannot tell whether the value changed, so it returns
+   * {@link Versions#UNTRACKED}.
+   * @param snapshot the current timeline snapshot.
+   * @return the version stamp of the value.
+   */
+  default long version(TimelineSnapshot snapshot) {
+    return Versions.UNTRACKED;
+  }
+
+  /**
+   * Get values this provider is known to take while the timeline plays, such as its keyframe
+   * values, so that data derived from them can be prepared ahead of time. The default
+   * implementation knows none.
+   * @param timeline the timeline that will be sampled.
+   * @return the known values, without duplicates.
+   */
+  default List<T> keyValues(Timeline timeline) {
+    return List.of();
+  }
 }
\ No newline at end of file
@@ -8,20 +8,47 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Validates {@link AnimatedProperty} usage at compile-time.
  * Ensures the annotation is not applied to final fields.
+ * <p>
+ * For every valid class declaring animated properties, also generates a
+ * {@code <binary class name>$$PropertyAccessor} in the same package, which reads and writes the
+ * non-private fields directly. Private fields, and classes not visible from their package, are
+ * left to reflection.
+ * </p>
  */
-@SupportedAnnotationTypes("com.github.amatheo.timelinefx.annotation.AnimatedProperty")
+@SupportedAnnotationTypes("io.github.amatheo.timelinefx.annotation.AnimatedProperty")
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
 public class AnimatedPropertyProcessor extends AbstractProcessor {
 
+    private static final String ACCESSOR_SUFFIX = "$$PropertyAccessor";
+    private static final String ACCESSOR_INTERFACE = "io.github.amatheo.timelinefx.effect.PropertyAccessor";
+
+    private final Set<String> generated = new HashSet<>();
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<VariableElement>> fieldsByType = new LinkedHashMap<>();
+        Set<TypeElement> invalidTypes = new HashSet<>();
+
         for (Element element : roundEnv.getElementsAnnotatedWith(AnimatedProperty.class)) {
             if (element.getKind() != ElementKind.FIELD) {
                 processingEnv.getMessager().printMessage(
@@ -31,7 +58,8 @@ public class AnimatedPropertyProcessor extends AbstractProcessor {
                 );
                 continue;
             }
-            
+
+            TypeElement owner = (TypeElement) element.getEnclosingElement();
             if (element.getModifiers().contains(Modifier.FINAL)) {
                 processingEnv.getMessager().printMessage(
                     Diagnostic.Kind.ERROR,
@@ -39,9 +67,167 @@ public class AnimatedPropertyProcessor extends AbstractProcessor {
                     "Remove 'final' or the annotation.",
                     element
                 );
+                invalidTypes.add(owner);
+                continue;
+            }
+
+            if (!element.getModifiers().contains(Modifier.STATIC)) {
+                fieldsByType.computeIfAbsent(owner, k -> new ArrayList<>()).add((VariableElement) element);
             }
         }
-        
+
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : fieldsByType.entrySet()) {
+            if (!invalidTypes.contains(entry.getKey())) {
+                generateAccessor(entry.getKey(), entry.getValue());
+            }
+        }
+
         return false;
     }
+
+    private void generateAccessor(TypeElement type, List<VariableElement> fields) {
+        if (!isVisibleFromPackage(type)) {
+            return;
+        }
+        List<VariableElement> accessible = new ArrayList<>();
+        for (VariableElement field : fields) {
+            if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+                accessible.add(field);
+            }
+        }
+        if (accessible.isEmpty()) {
+            return;
+        }
+
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+            + ACCESSOR_SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        if (!generated.add(qualifiedName)) {
+            return;
+        }
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(accessorSource(packageName, simpleName, type, accessible));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                "Failed to generate " + qualifiedName + ": " + e.getMessage(),
+                type
+            );
+        }
+    }
+
+    // Generated code lives in the package of the effect, so every enclosing class must be reachable
+    private static boolean isVisibleFromPackage(TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement typeElement) {
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)
+                || typeElement.getNestingKind() == NestingKind.LOCAL
+                || typeElement.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            current = typeElement.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private String accessorSource(String packageName, String simpleName, TypeElement type,
+                                  List<VariableElement> fields) {
+        String effectType = erasure(type.asType());
+        StringBuilder names = new StringBuilder();
+        StringBuilder differs = new StringBuilder();
+        StringBuilder set = new StringBuilder();
+        StringBuilder unset = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String name = field.getSimpleName().toString();
+            TypeMirror fieldType = field.asType();
+            String access = "effect." + name;
+
+            names.append(i == 0 ? "" : ", ").append('"').append(name).append('"');
+            String boxed;
+            if (fieldType.getKind().isPrimitive()) {
+                boxed = boxedName(fieldType.getKind());
+                String comparison = switch (fieldType.getKind()) {
+                    case DOUBLE -> "Double.compare(" + access + ", v) != 0";
+                    case FLOAT -> "Float.compare(" + access + ", v) != 0";
+                    default -> access + " != v";
+                };
+                differs.append(caseLine(i, "!(value instanceof " + boxed + " v) || " + comparison));
+                unset.append(caseLine(i, switch (fieldType.getKind()) {
+                    case BOOLEAN -> "!" + access;
+                    case INT, LONG, FLOAT, DOUBLE -> access + " == 0";
+                    default -> "false";
+                }));
+            } else {
+                boxed = erasure(fieldType);
+                differs.append(caseLine(i, "!java.util.Objects.equals(" + access + ", value)"));
+                unset.append(caseLine(i, access + " == null"));
+            }
+            set.append(caseLine(i, access + " = (" + boxed + ") value"));
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+            .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+            .append("public final class ").append(simpleName)
+            .append(" implements ").append(ACCESSOR_INTERFACE).append('<').append(effectType).append("> {\n")
+            .append("    private static final String[] FIELDS = {").append(names).append("};\n\n")
+            .append("    @Override\n")
+            .append("    public String[] fieldNames() {\n")
+            .append("        return FIELDS.clone();\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public boolean differs(").append(effectType).append(" effect, int field, Object value) {\n")
+            .append("        return switch (field) {\n").append(differs).append(defaultCase())
+            .append("        };\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public void set(").append(effectType).append(" effect, int field, Object value) {\n")
+            .append("        switch (field) {\n").append(set).append(defaultCase())
+            .append("        }\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public boolean isUnset(").append(effectType).append(" effect, int field) {\n")
+            .append("        return switch (field) {\n").append(unset).append(defaultCase())
+            .append("        };\n")
+            .append("    }\n")
+            .append("}\n");
+        return source.toString();
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private static String caseLine(int index, String expression) {
+        return "            case " + index + " -> " + expression + ";\n";
+    }
+
+    private static String defaultCase() {
+        return "            default -> throw new IndexOutOfBoundsException(field);\n";
+    }
+
+    private static String boxedName(TypeKind kind) {
+        return switch (kind) {
+            case BOOLEAN -> "Boolean";
+            case BYTE -> "Byte";
+            case SHORT -> "Short";
+            case CHAR -> "Character";
+            case INT -> "Integer";
+            case LONG -> "Long";
+            case FLOAT -> "Float";
+            case DOUBLE -> "Double";
+            default -> throw new IllegalArgumentException("Not a primitive type: " + kind);
+        };
+    }
 }
@@ -1,51 +1,236 @@
 package io.github.amatheo.timelinefx.core;
 
+import io.github.amatheo.timelinefx.animation.timeline.TimelineSampleCache;
+import io.github.amatheo.timelinefx.core.impl.PacketDispatcher;
 import io.github.amatheo.timelinefx.core.impl.ParticleNativeAPIRenderer;
+import io.github.amatheo.timelinefx.particle.impl.ParticleClusterer;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 public final class AnimationEngine implements Listener, AutoCloseable {
   private final List<Playable> actives = new ArrayList<>();
+  // Playables waiting for their wake tick; they are not ticked meanwhile
+  private final TimerWheel<Playable> sleeping;
   private final PlaybackContext ctx;
+  private final TimelineSampleCache sampleCache;
+  private final RenderPipeline pipeline;
+  private final PacketDispatcher dispatcher;
+  // Queues the packets of a tick to the mailboxes, after the render work of that tick
+  private final Runnable endDispatchTick;
   private final BukkitTask task;
+  // Held by each tick, so that closing waits for the tick in progress
+  private final Object tickLock = new Object();
+  // Guarded by tickLock
+  private boolean closed;
 
   public AnimationEngine(Plugin plugin) {
+    this(builder(plugin));
+  }
+
+  private AnimationEngine(Builder builder) {
+    Plugin plugin = builder.plugin;
     AtomicLong tickCounter = new AtomicLong(Bukkit.getCurrentTick());
+    this.sampleCache = builder.sampleCacheEnabled
+        ? new TimelineSampleCache(builder.sampleCacheQuantumSeconds)
+        : null;
+    this.pipeline = builder.renderThread ? new RenderPipeline(plugin) : null;
+    this.dispatcher = (builder.maxQueuedBatches > 0) ? new PacketDispatcher(builder.maxQueuedBatches) : null;
+    this.endDispatchTick = (dispatcher != null) ? dispatcher::endTick : null;
     this.ctx = new PlaybackContext(plugin,
         tickCounter.get(),
-        () -> (long) Bukkit.getCurrentTick(),
+        () -> Bukkit.getCurrentTick(),
         1.0 / 20.0,
-        new ParticleNativeAPIRenderer(),
-        new Random());
+        new ParticleNativeAPIRenderer(builder.clusterer, dispatcher),
+        new Random(),
+        sampleCache,
+        builder.dedupCellSize,
+        pipeline);
+    this.sleeping = new TimerWheel<>(TimerWheel.DEFAULT_SLOTS, ctx.startTick());
     this.task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::tickAll, 1L, 1L);
   }
 
+  public static Builder builder(Plugin plugin) {
+    return new Builder(plugin);
+  }
+
   public void play(Playable p) {
-    p.start(ctx);
+    p.start(ctx, ctx.nowTick().getAsLong());
     actives.add(p);
   }
 
+  /**
+   * Returns the counters of the shared timeline sample cache, or {@code null} when it is disabled.
+   */
+  public TimelineSampleCache.Stats sampleCacheStats() {
+    return sampleCache != null ? sampleCache.stats() : null;
+  }
+
   private void tickAll() {
-    for (Iterator<Playable> it = actives.iterator(); it.hasNext(); ) {
-      var p = it.next();
-      p.tick(ctx);
+    synchronized (tickLock) {
+      if (!closed) {
+        tick();
+      }
+    }
+  }
+
+  private void tick() {
+    long now = ctx.nowTick().getAsLong();
+    // Handed to every playable ticked on this tick
+    FrameContext frame = new FrameContext(ctx, now);
+    if (sampleCache != null) {
+      sampleCache.beginTick(now);
+    }
+    // Woken playables are ticked on their wake tick, after those already running
+    sleeping.advance(now, actives::add);
+    int kept = 0;
+    for (int i = 0; i < actives.size(); i++) {
+      var p = actives.get(i);
+      p.tick(frame);
       if (p.isDone()) {
         p.stop(ctx);
-        it.remove();
+        continue;
       }
+      long wakeTick = p.wakeTick();
+      if (wakeTick > now) {
+        sleeping.schedule(p, wakeTick);
+        continue;
+      }
+      actives.set(kept++, p);
+    }
+    actives.subList(kept, actives.size()).clear();
+    if (pipeline != null) {
+      // The frames handed over this tick are sent while the next tick is sampled
+      if (endDispatchTick != null) {
+        pipeline.submit(endDispatchTick);
+      }
+      pipeline.flush();
+    } else if (endDispatchTick != null) {
+      endDispatchTick.run();
     }
   }
 
+  /**
+   * Stops ticking, once the tick in progress if any is over, then stops every playable so that
+   * layers release their renderer state, and sends what is left to render.
+   */
   public void close() {
     task.cancel();
-    actives.clear();
+    synchronized (tickLock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      actives.forEach(this::stopQuietly);
+      actives.clear();
+      sleeping.clear(this::stopQuietly);
+      // The tick thread is done submitting: the release tasks run before the render thread stops
+      if (pipeline != null) {
+        pipeline.close();
+      }
+      if (dispatcher != null) {
+        dispatcher.close();
+      }
+    }
+  }
+
+  private void stopQuietly(Playable p) {
+    try {
+      p.stop(ctx);
+    } catch (RuntimeException e) {
+      ctx.plugin().getLogger().log(Level.WARNING, "Failed to stop a playable", e);
+    }
+  }
+
+  public static final class Builder {
+    private final Plugin plugin;
+    private boolean sampleCacheEnabled = true;
+    private double sampleCacheQuantumSeconds = TimelineSampleCache.DEFAULT_QUANTUM_SECONDS;
+    private double dedupCellSize = 0.0;
+    private ParticleClusterer clusterer;
+    private boolean renderThread = true;
+    private int maxQueuedBatches = PacketDispatcher.DEFAULT_MAX_QUEUED_BATCHES;
+
+    private Builder(Plugin plugin) {
+      this.plugin = Objects.requireNonNull(plugin, "plugin");
+    }
+
+    /**
+     * Enables or disables sharing of identical timeline samples between playbacks within a tick.
+     * Enabled by default.
+     */
+    public Builder sampleCache(boolean enabled) {
+      this.sampleCacheEnabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the width of the timeline time buckets used as cache keys.
+     */
+    public Builder sampleCacheQuantumSeconds(double quantumSeconds) {
+      if (!(quantumSeconds > 0.0)) {
+        throw new IllegalArgumentException("quantumSeconds must be > 0");
+      }
+      this.sampleCacheQuantumSeconds = quantumSeconds;
+      return this;
+    }
+
+    /**
+     * Drops, in every layer, particles of the same type falling in the same cube of
+     * {@code cellSize} blocks (in layer space) before they are sent. Layers can override it.
+     * Disabled by default.
+     */
+    public Builder deduplicateParticles(double cellSize) {
+      if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+        throw new IllegalArgumentException("cellSize must be a finite value > 0");
+      }
+      this.dedupCellSize = cellSize;
+      return this;
+    }
+
+    /**
+     * Sends the particles of a layer falling in the same world-space cube of {@code cellSize}
+     * blocks, when there are at least {@code minClusterSize} of the same type, as a single packet
+     * spread around their mean position. Disabled by default.
+     */
+    public Builder clusterParticles(double cellSize, int minClusterSize) {
+      this.clusterer = new ParticleClusterer(cellSize, minClusterSize);
+      return this;
+    }
+
+    /**
+     * Sends particles from a dedicated render thread, overlapping with the sampling of the next
+     * tick, instead of right after each layer is sampled. Enabled by default.
+     */
+    public Builder renderThread(boolean enabled) {
+      this.renderThread = enabled;
+      return this;
+    }
+
+    /**
+     * Sends particle packets from a mailbox per player, drained by virtual threads, holding the
+     * packets of at most {@code maxQueuedBatches} ticks before dropping the oldest; {@code 0} sends
+     * packets inline from the rendering thread. Defaults to
+     * {@value PacketDispatcher#DEFAULT_MAX_QUEUED_BATCHES}.
+     */
+    public Builder packetDispatch(int maxQueuedBatches) {
+      if (maxQueuedBatches < 0) {
+        throw new IllegalArgumentException("maxQueuedBatches must be >= 0");
+      }
+      this.maxQueuedBatches = maxQueuedBatches;
+      return this;
+    }
+
+    public AnimationEngine build() {
+      return new AnimationEngine(this);
+    }
   }
-}
\ No newline at end of file
+}
@@ -1,39 +1,81 @@
 package io.github.amatheo.timelinefx.core;
 
+import io.github.amatheo.timelinefx.animation.Versions;
 import io.github.amatheo.timelinefx.animation.binding.BindingResult;
+import io.github.amatheo.timelinefx.animation.binding.MutableBindingState;
 import io.github.amatheo.timelinefx.animation.binding.TimelineBindings;
+import io.github.amatheo.timelinefx.animation.timeline.Timeline;
 import io.github.amatheo.timelinefx.animation.timeline.TimelinePlayback;
 import io.github.amatheo.timelinefx.animation.timeline.TimelineSnapshot;
+import io.github.amatheo.timelinefx.effect.AnimatedEffect;
 import io.github.amatheo.timelinefx.effect.Effect;
 import io.github.amatheo.timelinefx.effect.EffectSamplingContext;
 import io.github.amatheo.timelinefx.effect.EvaluatedParams;
+import io.github.amatheo.timelinefx.effect.ParameterSchema;
+import io.github.amatheo.timelinefx.particle.ParticleVertex;
+import io.github.amatheo.timelinefx.particle.impl.ParticleDeduplicator;
 import io.github.amatheo.timelinefx.particle.impl.PooledParticleBuffer;
 import io.github.amatheo.timelinefx.transform.Transform;
+import io.github.amatheo.timelinefx.transform.TransformNode;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * Drives a single {@link TimelinePlayback} and fans out its values to multiple effect layers, each
  * with their own bindings. Useful for complex particle compositions that share a master timeline
  * (e.g. multi-ring explosions, spell charge-up sequences, layered auras).
+ * <p>
+ * Layers can be nested in groups, to any depth. A group has its own bindings, whose transform is
+ * expressed in its parent's space and whose parameters are inherited by everything it contains.
+ * Every group and layer owns a {@link TransformNode}, so a world transform is only recomposed when
+ * a local transform along its path actually changed.
+ * </p>
+ * <p>
+ * Parameters are resolved into the {@link ParameterSchema} of each layer's effect when the clip is
+ * built, and inherited values are layered into it by slot. When the clip starts, the values the
+ * parameters take at the timeline's keyframes are handed to {@link Effect#prefetch}, so effects can
+ * prepare expensive derived data before it is needed.
+ * </p>
+ * <p>
+ * Each layer samples its effect with its own {@link SplittableRandom}, split in a fixed order from
+ * the clip's random stream when the clip starts. A clip built with a seed therefore produces the
+ * same particles on every playback, whatever other clips run, and layers never contend on a shared
+ * generator.
+ * </p>
+ * <p>
+ * A frame is sent one tick after it was sampled. Without a {@link RenderPipeline}, a layer sends
+ * the frame of the previous tick right after sampling the current one. With a pipeline, the layer
+ * hands the frame it just sampled over to the render thread, together with a copy of its world
+ * transform, and the frame is sent while the next tick is sampled.
+ * </p>
  */
 public final class EffectClip implements Playable {
   private final TimelinePlayback playback;
-  private final TimelineBindings rootBindings;
-  private final List<Layer> layers;
+  private final Group root;
   private final List<Player> players;
+  // Seed of the layers' random streams, or null to draw one from the engine at each start
+  @Nullable
+  private final Long seed;
   private long startedAtTick = -1L;
+  // Nothing is sampled before this tick, while the playback waits out its start delay
+  private long wakeTick = Long.MIN_VALUE;
 
-  private EffectClip(TimelinePlayback playback, TimelineBindings rootBindings,
-                     List<Layer> layers, List<Player> players) {
+  private EffectClip(TimelinePlayback playback, Group root, List<Player> players, @Nullable Long seed) {
     this.playback = Objects.requireNonNull(playback, "playback");
-    this.rootBindings = Objects.requireNonNull(rootBindings, "rootBindings");
-    this.layers = List.copyOf(layers);
+    this.root = Objects.requireNonNull(root, "root");
     this.players = players == null ? List.of() : List.copyOf(players);
+    this.seed = seed;
+    root.attach(TransformNode.root(), List.of());
   }
 
   /**
@@ -41,7 +83,24 @@ public final class EffectClip implements Playable {
    */
   public static EffectClip fromBuilder(TimelinePlayback playback, TimelineBindings rootBindings,
                                        List<Layer> layers, List<Player> players) {
-    return new EffectClip(playback, rootBindings, layers, players);
+    return fromBuilder(playback, rootBindings, layers, List.of(), players);
+  }
+
+  /**
+   * Internal factory method for use by EffectClipBuilder.
+   */
+  public static EffectClip fromBuilder(TimelinePlayback playback, TimelineBindings rootBindings,
+                                       List<Layer> layers, List<Group> groups, List<Player> players) {
+    return fromBuilder(playback, rootBindings, layers, groups, players, null);
+  }
+
+  /**
+   * Internal factory method for use by EffectClipBuilder.
+   */
+  public static EffectClip fromBuilder(TimelinePlayback playback, TimelineBindings rootBindings,
+                                       List<Layer> layers, List<Group> groups, List<Player> players,
+                                       @Nullable Long seed) {
+    return new EffectClip(playback, Group.create(rootBindings, layers, groups), players, seed);
   }
 
   public static EffectClipBuilder builder() {
@@ -49,28 +108,24 @@ public final class EffectClip implements Playable {
   }
 
   @Override
-  public void start(PlaybackContext ctx) {
-    this.startedAtTick = ctx.nowTick().get();
+  public void start(PlaybackContext ctx, long startTick) {
+    this.startedAtTick = startTick;
+    root.reset(new SplittableRandom(seed != null ? seed : ctx.rng().nextLong()));
+    root.prefetch(playback.timeline(), Map.of());
     playback.start(startedAtTick);
+    wakeTick = playback.firstSampledTick(ctx.tickToSeconds());
   }
 
   @Override
-  public void tick(PlaybackContext ctx) {
+  public void tick(FrameContext frame) {
     if (startedAtTick < 0) return;
 
-    long nowTick = ctx.nowTick().get();
-    TimelineSnapshot snapshot = playback.sample(nowTick, ctx.tickToSeconds());
+    TimelineSnapshot snapshot = playback.sample(frame.tick(), frame.dtSeconds(),
+        frame.playback().sampleCache());
     if (snapshot == null) return;
 
-    // Evaluate root (parent) transform
-    BindingResult rootResult = rootBindings.evaluate(snapshot);
-    Transform rootTransform = rootResult.transform();
-    Map<String, Object> rootParams = rootResult.parameters();
-
-    // Render each layer with the root transform as parent
-    for (Layer layer : layers) {
-      layer.render(ctx, snapshot, rootTransform, rootParams, players);
-    }
+    // Evaluate the root group, then its layers and nested groups, parents before children
+    root.render(frame, snapshot, playback.isUnchanged(), null, players);
   }
 
   @Override
@@ -78,9 +133,113 @@ public final class EffectClip implements Playable {
     return playback.isFinished();
   }
 
+  @Override
+  public long wakeTick() {
+    return wakeTick;
+  }
+
   @Override
   public void stop(PlaybackContext ctx) {
     this.startedAtTick = -1L;
+    this.wakeTick = Long.MIN_VALUE;
+    root.release(ctx);
+  }
+
+  /**
+   * Bindings shared by a set of layers and nested groups. The root group of a clip holds the root
+   * bindings.
+   */
+  static final class Group {
+    private final TimelineBindings bindings;
+    private final List<Layer> layers;
+    private final List<Group> children;
+    private final MutableBindingState state;
+    private TransformNode node;
+    private boolean evaluated;
+    // True when the transform and parameters are the same as on the previous tick
+    private boolean unchanged;
+
+    private Group(TimelineBindings bindings, List<Layer> layers, List<Group> children) {
+      this.bindings = Objects.requireNonNull(bindings, "bindings");
+      this.layers = List.copyOf(layers);
+      this.children = List.copyOf(children);
+      this.state = bindings.newState();
+    }
+
+    /**
+     * Internal factory method for use by EffectClipBuilder and LayerGroupBuilder.
+     */
+    static Group create(TimelineBindings bindings, List<Layer> layers, List<Group> children) {
+      return new Group(bindings, layers, children);
+    }
+
+    private void attach(TransformNode node, List<Group> ancestors) {
+      if (this.node != null) {
+        throw new IllegalStateException("Group already belongs to a clip");
+      }
+      this.node = node;
+      List<Group> path = new ArrayList<>(ancestors);
+      path.add(this);
+      for (Layer layer : layers) {
+        layer.attach(node.createChild(), path);
+      }
+      for (Group child : children) {
+        child.attach(node.createChild(), path);
+      }
+    }
+
+    // Layers split their random stream in clip order, so a seed always maps to the same streams
+    private void reset(SplittableRandom clipRandom) {
+      evaluated = false;
+      unchanged = false;
+      for (Layer layer : layers) {
+        layer.reset(clipRandom);
+      }
+      for (Group child : children) {
+        child.reset(clipRandom);
+      }
+    }
+
+    // As with parameters, values bound closer to the layer replace inherited ones
+    private void prefetch(Timeline timeline, Map<String, List<?>> inherited) {
+      Map<String, List<?>> keyValues = new LinkedHashMap<>(inherited);
+      keyValues.putAll(bindings.parameterKeyValues(timeline));
+      for (Layer layer : layers) {
+        layer.prefetch(timeline, keyValues);
+      }
+      for (Group child : children) {
+        child.prefetch(timeline, keyValues);
+      }
+    }
+
+    private void release(PlaybackContext ctx) {
+      for (Layer layer : layers) {
+        layer.release(ctx);
+      }
+      for (Group child : children) {
+        child.release(ctx);
+      }
+    }
+
+    private void render(FrameContext frame, TimelineSnapshot snapshot, boolean snapshotUnchanged,
+                        @Nullable Group parent, List<Player> defaultPlayers) {
+      unchanged = snapshotUnchanged
+          && evaluated
+          && (parent == null || parent.unchanged)
+          && bindings.dependsOnlyOnSnapshot();
+      if (!unchanged) {
+        BindingResult result = bindings.evaluateInto(snapshot, state).result();
+        node.setLocal(result.transform());
+        evaluated = true;
+      }
+
+      for (Layer layer : layers) {
+        layer.render(frame, snapshot, this, defaultPlayers);
+      }
+      for (Group child : children) {
+        child.render(frame, snapshot, snapshotUnchanged, this, defaultPlayers);
+      }
+    }
   }
 
   static final class Layer {
@@ -92,59 +251,287 @@ public final class EffectClip implements Playable {
     private final PooledParticleBuffer bufferB;
     private PooledParticleBuffer writeBuffer;
     private PooledParticleBuffer readBuffer;
+    // Third buffer used when frames are rendered on the render thread: the frame handed over on the
+    // previous tick may still be read while the next one is written
+    private PooledParticleBuffer spareBuffer;
+    // Sent inline on the first tick after a start instead of the read buffer, which may still hold
+    // a frame of the previous playback; null until needed
+    private PooledParticleBuffer emptyBuffer;
+    private boolean justStarted;
+    // Per-layer storage rewritten every evaluation, and reused as is while neither the timeline
+    // nor the parent change
+    private final MutableBindingState state;
+    private TransformNode node;
+    // Resolved when attached: parameter states from the root group down to this layer, each with
+    // the schema slot of its parameters
+    private ParameterSchema schema;
+    private MutableBindingState[] paramSources;
+    private int[][] paramSlots;
+    private Object[] paramValues;
+    private long[] paramVersions;
+    private EvaluatedParams lastParams;
+    // Holds the random stream split from the clip's stream on each start; advanced every tick
+    private EffectSamplingContext samplingCtx;
+    // Render stage. Two handoffs alternate, since the render thread may still read the previous
+    // one while the next tick fills the other. The fields below, up to the renderer, are only
+    // touched by the stage that sends frames.
+    private final Handoff[] handoffs = {new Handoff(), new Handoff()};
+    private final Runnable[] sendTasks;
+    private int nextHandoff;
+    // Placed by the handed over world transform; renderers key their per-layer state on it
+    private final TransformNode renderNode = TransformNode.root();
+    private PooledParticleBuffer lastFrame;
+    // Layer setting, or 0 to follow the engine; the frame is deduplicated once per new frame
+    private final double dedupCellSize;
+    private ParticleDeduplicator deduplicator;
+    private PooledParticleBuffer uniqueBuffer;
+    private boolean uniqueStale = true;
+    // Particles with a velocity are sent every motionInterval ticks and moved by the client in
+    // between; the others are sent every tick, from a copy of the frame without moving particles
+    private final int motionInterval;
+    private int motionCountdown;
+    private PooledParticleBuffer stationaryBuffer;
+    private boolean stationaryStale = true;
+    // Layer renderer, or null to use the engine's
+    private final ParticleRenderer renderer;
 
-    private Layer(Effect effect, TimelineBindings bindings, int bufferCapacity, List<Player> players) {
+    private Layer(Effect effect, TimelineBindings bindings, int bufferCapacity, List<Player> players,
+                  double dedupCellSize, int motionInterval, ParticleRenderer renderer) {
       this.effect = Objects.requireNonNull(effect, "effect");
       this.bindings = Objects.requireNonNull(bindings, "bindings");
+      this.state = bindings.newState();
       this.players = players == null ? null : List.copyOf(players);
+      this.dedupCellSize = dedupCellSize;
+      this.motionInterval = Math.max(1, motionInterval);
+      this.renderer = renderer;
 
       this.bufferA = new PooledParticleBuffer(Math.max(16, bufferCapacity));
       this.bufferB = new PooledParticleBuffer(Math.max(16, bufferCapacity));
       this.writeBuffer = bufferA;
       this.readBuffer = bufferB;
+      this.sendTasks = new Runnable[] {() -> send(handoffs[0]), () -> send(handoffs[1])};
     }
 
     /**
      * Internal factory method for use by LayerBuilder.
      */
-    static Layer create(Effect effect, TimelineBindings bindings, int bufferCapacity, List<Player> players) {
-      return new Layer(effect, bindings, bufferCapacity, players);
+    static Layer create(Effect effect, TimelineBindings bindings, int bufferCapacity, List<Player> players,
+                        double dedupCellSize, int motionInterval, ParticleRenderer renderer) {
+      return new Layer(effect, bindings, bufferCapacity, players, dedupCellSize, motionInterval, renderer);
+    }
+
+    private void attach(TransformNode node, List<Group> ancestors) {
+      if (this.node != null) {
+        throw new IllegalStateException("Layer already belongs to a clip");
+      }
+      this.node = node;
+
+      Set<String> boundNames = new LinkedHashSet<>();
+      for (Group group : ancestors) {
+        boundNames.addAll(group.bindings.parameterNames());
+      }
+      boundNames.addAll(bindings.parameterNames());
+      Class<?> effectClass = (effect instanceof AnimatedEffect) ? effect.getClass() : null;
+      this.schema = ParameterSchema.of(effectClass, boundNames);
+
+      int levels = ancestors.size() + 1;
+      this.paramSources = new MutableBindingState[levels];
+      this.paramSlots = new int[levels][];
+      for (int i = 0; i < ancestors.size(); i++) {
+        Group group = ancestors.get(i);
+        paramSources[i] = group.state;
+        paramSlots[i] = schema.slotsOf(group.bindings.parameterNames());
+      }
+      paramSources[levels - 1] = state;
+      paramSlots[levels - 1] = schema.slotsOf(bindings.parameterNames());
+      this.paramValues = new Object[schema.size()];
+      this.paramVersions = new long[schema.size()];
     }
 
-    private void swapBuffers() {
+    // Outer levels first, so that a value bound closer to the layer wins
+    private void layerParams() {
+      Arrays.fill(paramValues, null);
+      Arrays.fill(paramVersions, Versions.ABSENT);
+      for (int level = 0; level < paramSources.length; level++) {
+        MutableBindingState source = paramSources[level];
+        int[] slots = paramSlots[level];
+        for (int i = 0; i < slots.length; i++) {
+          Object value = source.parameter(i);
+          if (value != null) {
+            paramValues[slots[i]] = value;
+            paramVersions[slots[i]] = source.parameterVersion(i);
+          }
+        }
+      }
+    }
+
+    private void prefetch(Timeline timeline, Map<String, List<?>> inherited) {
+      Map<String, List<?>> keyValues = new LinkedHashMap<>(inherited);
+      keyValues.putAll(bindings.parameterKeyValues(timeline));
+      keyValues.forEach(effect::prefetch);
+    }
+
+    private void swapBuffers(boolean pipelined) {
       PooledParticleBuffer temp = readBuffer;
       readBuffer = writeBuffer;
-      writeBuffer = temp;
+      if (pipelined) {
+        // temp is still being sent; write into the buffer the render thread is done with
+        if (spareBuffer == null) {
+          spareBuffer = new PooledParticleBuffer(temp.size());
+        }
+        writeBuffer = spareBuffer;
+        spareBuffer = temp;
+      } else {
+        writeBuffer = temp;
+      }
     }
 
-    private void render(PlaybackContext ctx, TimelineSnapshot snapshot,
-                        Transform parentTransform, Map<String, Object> rootParams,
+    private void render(FrameContext frame, TimelineSnapshot snapshot, Group parent,
                         List<Player> defaultPlayers) {
-      // 1. Evaluate local bindings
-      BindingResult localResult = bindings.evaluate(snapshot);
-      Transform localTransform = localResult.transform();
+      PlaybackContext ctx = frame.playback();
+      EvaluatedParams evaluated;
+      if (parent.unchanged && lastParams != null && bindings.dependsOnlyOnSnapshot()) {
+        evaluated = lastParams;
+      } else {
+        // 1. Evaluate local bindings
+        BindingResult localResult = bindings.evaluateInto(snapshot, state).result();
 
-      // 2. Compose the world transform
-      Transform worldTransform = Transform.compose(parentTransform, localTransform);
+        // 2. Update the local transform; the world transform is recomposed lazily when it changed
+        node.setLocal(localResult.transform());
 
-      // 3. Combine parent parameters with local parameters
-      Map<String, Object> params;
-      if (rootParams.isEmpty()) {
-        params = localResult.parameters();
-      } else {
-        params = new HashMap<>(rootParams);
-        params.putAll(localResult.parameters());
+        // 3. Layer inherited and local parameters by slot
+        layerParams();
+        // The slots are wrapped, not copied: a new wrapper tells the effect to bind again
+        evaluated = EvaluatedParams.ofSlots(schema, paramValues, paramVersions);
+        lastParams = evaluated;
       }
 
-      // 4. Sample effect and render
-      EvaluatedParams evaluated = EvaluatedParams.fromValues(params);
-      EffectSamplingContext samplingCtx = new EffectSamplingContext(ctx.nowTick().get(), ctx.tickToSeconds(), ctx.rng());
+      // 4. Sample effect and render. Reusing the same params instance lets the effect skip binding.
+      samplingCtx.advance(frame.tick(), frame.dtSeconds());
+      int writesBefore = writeBuffer.modCount();
       effect.sample(samplingCtx, evaluated, writeBuffer);
+      boolean wrote = writeBuffer.modCount() != writesBefore;
 
-      List<Player> audience = (players != null) ? players : defaultPlayers;
-      ctx.renderer().render(readBuffer, worldTransform, audience);
+      // 5. Hand a frame over, with a copy of the world transform the render stage can read while
+      // the next tick moves the node. The render thread only sends it during the next tick, so it
+      // gets the frame just sampled, while a frame sent inline is that of the previous tick. An
+      // effect that skipped rendering left the write buffer stale; keep showing the last frame.
+      RenderPipeline pipeline = ctx.pipeline();
+      if (pipeline != null && wrote) {
+        swapBuffers(true);
+      }
+      Handoff handoff = handoffs[nextHandoff];
+      Runnable sendTask = sendTasks[nextHandoff];
+      nextHandoff ^= 1;
+      handoff.ctx = ctx;
+      handoff.frame = readBuffer;
+      if (justStarted && pipeline == null) {
+        // Nothing was sampled in this playback before this tick
+        if (emptyBuffer == null) {
+          emptyBuffer = new PooledParticleBuffer(0);
+        }
+        handoff.frame = emptyBuffer;
+      }
+      justStarted = false;
+      handoff.audience = (players != null) ? players : defaultPlayers;
+      handoff.sendMoving = motionCountdown == 0;
+      motionCountdown = handoff.sendMoving ? motionInterval - 1 : motionCountdown - 1;
+      long worldVersion = node.worldVersion();
+      if (handoff.worldVersion != worldVersion) {
+        handoff.world.set(node.worldTransform());
+        handoff.worldVersion = worldVersion;
+      }
+      if (pipeline != null) {
+        pipeline.submit(sendTask);
+      } else {
+        sendTask.run();
+        if (wrote) {
+          swapBuffers(false);
+        }
+      }
+    }
+
+    private void send(Handoff handoff) {
+      if (handoff.frame != lastFrame) {
+        lastFrame = handoff.frame;
+        uniqueStale = true;
+        stationaryStale = true;
+      }
+      renderNode.setLocal(handoff.world);
+      PooledParticleBuffer frame = frame(handoff.ctx, handoff.frame);
+      renderer(handoff.ctx).render(handoff.sendMoving ? frame : stationary(frame), renderNode,
+          handoff.audience);
+    }
 
-      swapBuffers();
+    private void reset(SplittableRandom clipRandom) {
+      justStarted = true;
+      motionCountdown = 0;
+      samplingCtx = new EffectSamplingContext(0L, 0.0, clipRandom.split());
+    }
+
+    private ParticleRenderer renderer(PlaybackContext ctx) {
+      return (renderer != null) ? renderer : ctx.renderer();
+    }
+
+    private void release(PlaybackContext ctx) {
+      ParticleRenderer layerRenderer = renderer(ctx);
+      if (ctx.pipeline() != null) {
+        // After the frames already handed over
+        ctx.pipeline().submit(() -> layerRenderer.release(renderNode));
+      } else {
+        layerRenderer.release(renderNode);
+      }
     }
+
+    private PooledParticleBuffer stationary(PooledParticleBuffer frame) {
+      if (stationaryBuffer == null) {
+        stationaryBuffer = new PooledParticleBuffer(frame.size());
+        stationaryStale = true;
+      }
+      if (stationaryStale) {
+        stationaryBuffer.clear();
+        for (ParticleVertex from : frame.view()) {
+          if (from.getVel() == null) {
+            ParticleVertex to = stationaryBuffer.getNext();
+            to.getPos().set(from.getPos());
+            to.setParticleType(from.getParticleType());
+            to.setVel(null);
+            to.setParticleData(from.getParticleData());
+          }
+        }
+        stationaryStale = false;
+      }
+      return stationaryBuffer;
+    }
+
+    // The handed over frame, without coincident particles when deduplication is enabled. The
+    // effect's own buffers are left intact, since they are patched in place on later frames.
+    private PooledParticleBuffer frame(PlaybackContext ctx, PooledParticleBuffer source) {
+      double cellSize = (dedupCellSize > 0.0) ? dedupCellSize : ctx.dedupCellSize();
+      if (!(cellSize > 0.0)) {
+        return source;
+      }
+      if (deduplicator == null || deduplicator.cellSize() != cellSize) {
+        deduplicator = new ParticleDeduplicator(cellSize);
+        uniqueBuffer = new PooledParticleBuffer(source.size());
+        uniqueStale = true;
+        stationaryStale = true;
+      }
+      if (uniqueStale) {
+        deduplicator.copyUnique(source, uniqueBuffer);
+        uniqueStale = false;
+      }
+      return uniqueBuffer;
+    }
+  }
+
+  // What a layer hands over to the render stage for one frame
+  private static final class Handoff {
+    private PlaybackContext ctx;
+    private PooledParticleBuffer frame;
+    private List<Player> audience;
+    private boolean sendMoving;
+    private final Transform world = Transform.identity();
+    private long worldVersion = -1L;
   }
 }
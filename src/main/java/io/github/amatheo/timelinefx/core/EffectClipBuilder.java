@@ -21,7 +21,9 @@ public final class EffectClipBuilder {
   private final List<Consumer<TimelinePlayback.Builder>> playbackConfigurators = new ArrayList<>();
   private TimelineBindings rootBindings;
   private final List<LayerBuilder> layerBuilders = new ArrayList<>();
+  private final List<LayerGroupBuilder> groupBuilders = new ArrayList<>();
   private List<Player> players;
+  private Long seed;
 
   public EffectClipBuilder timeline(Timeline timeline) {
     this.timeline = timeline;
@@ -57,6 +59,17 @@ public final class EffectClipBuilder {
     return this;
   }
 
+  /**
+   * Adds a group of layers placed by its own bindings, relative to the root bindings. Groups can be
+   * nested to any depth.
+   */
+  public EffectClipBuilder group(Consumer<LayerGroupBuilder> configurer) {
+    LayerGroupBuilder builder = new LayerGroupBuilder();
+    configurer.accept(builder);
+    groupBuilders.add(builder);
+    return this;
+  }
+
   public EffectClipBuilder players(List<Player> players) {
     this.players = players;
     return this;
@@ -72,9 +85,18 @@ public final class EffectClipBuilder {
     return this;
   }
 
+  /**
+   * Seeds the random streams of the clip's layers, so that every playback samples the same random
+   * values. By default, a seed is drawn from the engine each time the clip starts.
+   */
+  public EffectClipBuilder seed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
   public EffectClip build() {
-    if (layerBuilders.isEmpty()) {
-      throw new IllegalStateException("EffectClip requires at least one layer");
+    if (layerBuilders.isEmpty() && groupBuilders.isEmpty()) {
+      throw new IllegalStateException("EffectClip requires at least one layer or group");
     }
 
     TimelineBindings effectiveRoot = (rootBindings != null)
@@ -82,11 +104,8 @@ public final class EffectClipBuilder {
         : TimelineBindings.builder().build();
 
     TimelinePlayback resolvedPlayback = resolvePlayback();
-    List<EffectClip.Layer> layers = new ArrayList<>(layerBuilders.size());
-    for (LayerBuilder builder : layerBuilders) {
-      layers.add(builder.build());
-    }
-    return EffectClip.fromBuilder(resolvedPlayback, effectiveRoot, layers, players);
+    return EffectClip.fromBuilder(resolvedPlayback, effectiveRoot,
+        LayerGroupBuilder.buildLayers(layerBuilders), LayerGroupBuilder.buildGroups(groupBuilders), players, seed);
   }
 
   private TimelinePlayback resolvePlayback() {
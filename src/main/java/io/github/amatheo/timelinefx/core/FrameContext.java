@@ -0,0 +1,41 @@
+package io.github.amatheo.timelinefx.core;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * The engine tick being played, handed to every {@link Playable#tick}. The engine reads its clock
+ * once per tick and creates a single, immutable instance shared by every playable ticked on it, so
+ * playables read the current tick as a primitive instead of querying the clock themselves.
+ */
+public final class FrameContext {
+  private final PlaybackContext playback;
+  private final long tick;
+
+  public FrameContext(PlaybackContext playback, long tick) {
+    this.playback = Objects.requireNonNull(playback, "playback");
+    this.tick = tick;
+  }
+
+  /**
+   * Settings and services of the engine, the same for every tick.
+   */
+  public PlaybackContext playback() {
+    return playback;
+  }
+
+  public long tick() {
+    return tick;
+  }
+
+  public double dtSeconds() {
+    return playback.tickToSeconds();
+  }
+
+  /**
+   * Engine random generator, used to seed clips that have no seed of their own.
+   */
+  public RandomGenerator rng() {
+    return playback.rng();
+  }
+}
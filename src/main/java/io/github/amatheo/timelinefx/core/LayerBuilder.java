@@ -19,6 +19,9 @@ public final class LayerBuilder {
   private TimelineBindings bindings;
   private int bufferCapacity = 1024;
   private List<Player> players;
+  private double dedupCellSize = 0.0;
+  private int motionInterval = 1;
+  private ParticleRenderer renderer;
 
   public LayerBuilder effect(Effect effect) {
     this.effect = effect;
@@ -42,6 +45,39 @@ public final class LayerBuilder {
     return this;
   }
 
+  /**
+   * Drops particles of the same type falling in the same cube of {@code cellSize} blocks before
+   * they are sent, overriding the engine setting.
+   */
+  public LayerBuilder deduplicate(double cellSize) {
+    if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+      throw new IllegalArgumentException("cellSize must be a finite value > 0");
+    }
+    this.dedupCellSize = cellSize;
+    return this;
+  }
+
+  /**
+   * Sends the particles that have a velocity only every {@code ticks} ticks, and lets the client
+   * move them in between; particles without a velocity are still sent every tick. Defaults to 1.
+   */
+  public LayerBuilder motionInterval(int ticks) {
+    if (ticks < 1) {
+      throw new IllegalArgumentException("ticks must be >= 1");
+    }
+    this.motionInterval = ticks;
+    return this;
+  }
+
+  /**
+   * Renders this layer with {@code renderer} instead of the engine's particle renderer, e.g. a
+   * {@link io.github.amatheo.timelinefx.core.impl.DisplayEntityRenderer} for persistent effects.
+   */
+  public LayerBuilder renderer(ParticleRenderer renderer) {
+    this.renderer = renderer;
+    return this;
+  }
+
   public LayerBuilder players(List<Player> players) {
     this.players = players;
     return this;
@@ -62,6 +98,7 @@ public final class LayerBuilder {
     TimelineBindings effectiveBindings = (bindings != null)
         ? bindings
         : TimelineBindings.builder().build();
-    return EffectClip.Layer.create(resolvedEffect, effectiveBindings, bufferCapacity, players);
+    return EffectClip.Layer.create(resolvedEffect, effectiveBindings, bufferCapacity, players, dedupCellSize,
+        motionInterval, renderer);
   }
 }
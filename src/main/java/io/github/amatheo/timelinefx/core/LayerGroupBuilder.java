@@ -0,0 +1,71 @@
+package io.github.amatheo.timelinefx.core;
+
+import io.github.amatheo.timelinefx.animation.binding.TimelineBindings;
+import io.github.amatheo.timelinefx.animation.binding.TimelineBindingsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Builder for a group of layers within an {@link EffectClip}.
+ * The group bindings place every layer and nested group it contains, and their parameters are
+ * inherited by them.
+ */
+public final class LayerGroupBuilder {
+  private TimelineBindings bindings;
+  private final List<LayerBuilder> layerBuilders = new ArrayList<>();
+  private final List<LayerGroupBuilder> groupBuilders = new ArrayList<>();
+
+  public LayerGroupBuilder bindings(TimelineBindings bindings) {
+    this.bindings = bindings;
+    return this;
+  }
+
+  public LayerGroupBuilder bindings(Consumer<TimelineBindingsBuilder> configurer) {
+    TimelineBindingsBuilder builder = TimelineBindings.builder();
+    configurer.accept(builder);
+    this.bindings = builder.build();
+    return this;
+  }
+
+  public LayerGroupBuilder layer(Consumer<LayerBuilder> configurer) {
+    LayerBuilder builder = new LayerBuilder();
+    configurer.accept(builder);
+    layerBuilders.add(builder);
+    return this;
+  }
+
+  public LayerGroupBuilder group(Consumer<LayerGroupBuilder> configurer) {
+    LayerGroupBuilder builder = new LayerGroupBuilder();
+    configurer.accept(builder);
+    groupBuilders.add(builder);
+    return this;
+  }
+
+  EffectClip.Group build() {
+    if (layerBuilders.isEmpty() && groupBuilders.isEmpty()) {
+      throw new IllegalStateException("Layer group requires at least one layer or group");
+    }
+    TimelineBindings effectiveBindings = (bindings != null)
+        ? bindings
+        : TimelineBindings.builder().build();
+    return EffectClip.Group.create(effectiveBindings, buildLayers(layerBuilders), buildGroups(groupBuilders));
+  }
+
+  static List<EffectClip.Layer> buildLayers(List<LayerBuilder> builders) {
+    List<EffectClip.Layer> layers = new ArrayList<>(builders.size());
+    for (LayerBuilder builder : builders) {
+      layers.add(builder.build());
+    }
+    return layers;
+  }
+
+  static List<EffectClip.Group> buildGroups(List<LayerGroupBuilder> builders) {
+    List<EffectClip.Group> groups = new ArrayList<>(builders.size());
+    for (LayerGroupBuilder builder : builders) {
+      groups.add(builder.build());
+    }
+    return groups;
+  }
+}
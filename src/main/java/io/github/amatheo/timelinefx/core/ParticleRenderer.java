@@ -2,6 +2,7 @@ package io.github.amatheo.timelinefx.core;
 
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
 import io.github.amatheo.timelinefx.transform.Transform;
+import io.github.amatheo.timelinefx.transform.TransformNode;
 import org.bukkit.entity.Player;
 
 import java.util.List;
@@ -18,5 +19,26 @@ public interface ParticleRenderer {
    * @param players The list of players who will see the particles.
    */
   void render(ParticleBuffer buffer, Transform transform, List<Player> players);
+
+  /**
+   * Renders particles from a buffer to players, placed by the world transform of a node.
+   * Implementations may use the cached {@link TransformNode#worldMatrix()} instead of the transform.
+   *
+   * @param buffer The buffer containing local particle data.
+   * @param node The node whose world transform to apply to the particles.
+   * @param players The list of players who will see the particles.
+   */
+  default void render(ParticleBuffer buffer, TransformNode node, List<Player> players) {
+    render(buffer, node.worldTransform(), players);
+  }
+
+  /**
+   * Called when the layer placed by {@code node} stops rendering, so that renderers keeping state
+   * per layer can free it. Does nothing by default.
+   *
+   * @param node The node of the layer.
+   */
+  default void release(TransformNode node) {
+  }
 }
 
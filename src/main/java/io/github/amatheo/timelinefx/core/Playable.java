@@ -1,8 +1,23 @@
 package io.github.amatheo.timelinefx.core;
 
 public interface Playable {
-    void start(PlaybackContext ctx);
-    void tick(PlaybackContext ctx);
+    /**
+     * Starts this playable on {@code startTick}: the tick of the frame being played when it is
+     * started by another playable, or the current tick when the engine starts it.
+     */
+    void start(PlaybackContext ctx, long startTick);
+    /**
+     * Advances this playable to the tick of {@code frame}.
+     */
+    void tick(FrameContext frame);
     boolean isDone();
+    /**
+     * First tick on which this playable has something to do again. While it is ahead of the current
+     * tick, the engine parks the playable instead of ticking it, and ticks it again on that tick.
+     * Defaults to {@link Long#MIN_VALUE}: ticked every tick.
+     */
+    default long wakeTick() {
+        return Long.MIN_VALUE;
+    }
     void stop(PlaybackContext ctx);
 }
\ No newline at end of file
@@ -1,15 +1,32 @@
 package io.github.amatheo.timelinefx.core;
 
+import io.github.amatheo.timelinefx.animation.timeline.TimelineSampleCache;
 import org.bukkit.plugin.Plugin;
 
 import java.util.Random;
-import java.util.function.Supplier;
+import java.util.function.LongSupplier;
 
+/**
+ * Settings and services of an engine, the same for every tick. The state of the tick being played
+ * is in the {@link FrameContext} handed to {@link Playable#tick}.
+ *
+ * @param nowTick       reads the server clock; only the engine reads it, playables get the tick
+ *                      they start on and the tick of each frame
+ * @param rng           seeds the clips that have no seed of their own; only used when a clip starts
+ * @param sampleCache   engine-scoped timeline sample cache, or {@code null} when sharing is disabled
+ * @param dedupCellSize grid size under which coincident particles of a layer are dropped, or
+ *                      {@code 0} when layers do not deduplicate by default
+ * @param pipeline      render stage layers hand their frames to, or {@code null} to render them on
+ *                      the tick thread
+ */
 public record PlaybackContext(
     Plugin plugin,
     long startTick,
-    Supplier<Long> nowTick,
+    LongSupplier nowTick,
     double tickToSeconds,
     ParticleRenderer renderer,
-    Random rng
-) {}
\ No newline at end of file
+    Random rng,
+    TimelineSampleCache sampleCache,
+    double dedupCellSize,
+    RenderPipeline pipeline
+) {}
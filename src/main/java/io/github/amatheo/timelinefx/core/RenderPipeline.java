@@ -0,0 +1,121 @@
+package io.github.amatheo.timelinefx.core;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+/**
+ * Second stage of the engine tick: runs the render work queued during a tick on a dedicated thread,
+ * while the engine samples the next tick.
+ * <p>
+ * The tick thread {@link #submit submits} tasks, then {@link #flush hands} the whole batch over at
+ * the end of the tick. The handoff is a single slot: publishing a batch is one atomic write, and the
+ * render thread clears the slot once the batch ran. At most one batch is in flight, so a flush first
+ * waits for the previous batch to finish, which lets producers reuse anything the batch before
+ * last was reading. Tasks run in submission order, and batches in flush order. Closing the pipeline
+ * runs the tasks still queued before the render thread stops.
+ * </p>
+ */
+public final class RenderPipeline implements AutoCloseable {
+  private final Plugin plugin;
+  private final Thread thread;
+  // The batch being rendered, or null when the render thread is idle
+  private final AtomicReference<List<Runnable>> inFlight = new AtomicReference<>();
+  // Tick thread: the batch being filled, and the one handed off before it
+  private List<Runnable> filling = new ArrayList<>();
+  private List<Runnable> spare = new ArrayList<>();
+  private volatile Thread waiter;
+  private volatile boolean closed;
+
+  RenderPipeline(Plugin plugin) {
+    this.plugin = Objects.requireNonNull(plugin, "plugin");
+    this.thread = new Thread(this::run, "TimelineFX render");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Queues {@code task} for the batch of the current tick.
+   */
+  void submit(Runnable task) {
+    filling.add(task);
+  }
+
+  /**
+   * Hands the tasks queued since the last flush over to the render thread, once it finished the
+   * previous batch.
+   */
+  void flush() {
+    awaitIdle();
+    if (filling.isEmpty() || closed) {
+      return;
+    }
+    List<Runnable> batch = filling;
+    filling = spare;
+    spare = batch;
+    inFlight.set(batch);
+    LockSupport.unpark(thread);
+  }
+
+  /**
+   * Waits until the render thread finished the batch it was handed, if any.
+   */
+  void awaitIdle() {
+    if (inFlight.get() == null || Thread.currentThread() == thread) {
+      return;
+    }
+    waiter = Thread.currentThread();
+    while (inFlight.get() != null && !closed) {
+      LockSupport.park(this);
+    }
+    waiter = null;
+  }
+
+  /**
+   * Runs the tasks queued since the last flush after the batch in flight, waits for them, then stops
+   * the render thread. Must be called by the thread submitting tasks, or once it stopped.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    // Layers submit their release tasks like any other: they must run for renderers to free state
+    flush();
+    awaitIdle();
+    closed = true;
+    LockSupport.unpark(thread);
+    Thread blocked = waiter;
+    if (blocked != null) {
+      LockSupport.unpark(blocked);
+    }
+  }
+
+  private void run() {
+    while (!closed) {
+      List<Runnable> batch = inFlight.get();
+      if (batch == null) {
+        LockSupport.park(this);
+        continue;
+      }
+      for (Runnable task : batch) {
+        try {
+          task.run();
+        } catch (Throwable t) {
+          plugin.getLogger().log(Level.SEVERE, "Render task failed", t);
+        }
+      }
+      batch.clear();
+      inFlight.set(null);
+      Thread blocked = waiter;
+      if (blocked != null) {
+        LockSupport.unpark(blocked);
+      }
+    }
+  }
+}
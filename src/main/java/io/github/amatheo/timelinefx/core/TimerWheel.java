@@ -0,0 +1,131 @@
+package io.github.amatheo.timelinefx.core;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel keyed by tick, holding the playables the engine parked until their
+ * {@link Playable#wakeTick() wake tick}.
+ * <p>
+ * Items are hashed by due tick into a power-of-two number of slots, so scheduling is constant time
+ * and advancing by one tick only visits one slot, whatever the number of sleeping items. Items due
+ * further away than one turn of the wheel share slots with nearer ones and are skipped until their
+ * tick comes. Items due on the same tick expire in scheduling order.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+final class TimerWheel<T> {
+  /** Default number of slots, i.e. ticks covered by one turn of the wheel. */
+  static final int DEFAULT_SLOTS = 512;
+
+  private final Entry<T>[] heads;
+  private final Entry<T>[] tails;
+  private final int mask;
+  // Next tick to expire
+  private long nextTick;
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  TimerWheel(int slots, long startTick) {
+    if (slots < 1 || Integer.bitCount(slots) != 1) {
+      throw new IllegalArgumentException("slots must be a power of two");
+    }
+    this.heads = (Entry<T>[]) new Entry[slots];
+    this.tails = (Entry<T>[]) new Entry[slots];
+    this.mask = slots - 1;
+    this.nextTick = startTick;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Schedules {@code item} to expire on {@code dueTick}, or on the next advanced tick when that tick
+   * already passed.
+   */
+  void schedule(T item, long dueTick) {
+    long due = Math.max(dueTick, nextTick);
+    Entry<T> entry = new Entry<>(item, due);
+    int slot = (int) (due & mask);
+    if (tails[slot] == null) {
+      heads[slot] = entry;
+    } else {
+      tails[slot].next = entry;
+    }
+    tails[slot] = entry;
+    size++;
+  }
+
+  /**
+   * Expires, tick after tick, every item due up to {@code nowTick} included.
+   */
+  void advance(long nowTick, Consumer<? super T> expired) {
+    if (nowTick - nextTick >= heads.length) {
+      // Behind by more than a turn: each slot is visited once for all the ticks missed
+      for (int slot = 0; slot < heads.length; slot++) {
+        expireSlot(slot, nowTick, expired);
+      }
+      nextTick = nowTick + 1;
+      return;
+    }
+    while (nextTick <= nowTick) {
+      if (size == 0) {
+        nextTick = nowTick + 1;
+        return;
+      }
+      expireSlot((int) (nextTick & mask), nextTick, expired);
+      nextTick++;
+    }
+  }
+
+  /**
+   * Removes every item, handing each to {@code removed}, whatever its due tick.
+   */
+  void clear(Consumer<? super T> removed) {
+    for (Entry<T> head : heads) {
+      for (Entry<T> entry = head; entry != null; entry = entry.next) {
+        removed.accept(entry.item);
+      }
+    }
+    Arrays.fill(heads, null);
+    Arrays.fill(tails, null);
+    size = 0;
+  }
+
+  private void expireSlot(int slot, long upToTick, Consumer<? super T> expired) {
+    Entry<T> previous = null;
+    Entry<T> entry = heads[slot];
+    while (entry != null) {
+      Entry<T> next = entry.next;
+      if (entry.dueTick <= upToTick) {
+        if (previous == null) {
+          heads[slot] = next;
+        } else {
+          previous.next = next;
+        }
+        if (tails[slot] == entry) {
+          tails[slot] = previous;
+        }
+        size--;
+        expired.accept(entry.item);
+      } else {
+        previous = entry;
+      }
+      entry = next;
+    }
+  }
+
+  private static final class Entry<T> {
+    private final T item;
+    private final long dueTick;
+    private Entry<T> next;
+
+    private Entry(T item, long dueTick) {
+      this.item = item;
+      this.dueTick = dueTick;
+    }
+  }
+}
@@ -0,0 +1,298 @@
+package io.github.amatheo.timelinefx.core.impl;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.core.ParticleRenderer;
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import io.github.amatheo.timelinefx.transform.Transform;
+import io.github.amatheo.timelinefx.transform.TransformNode;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Shows the particles of a layer as display entities ({@code BlockDisplay}, {@code ItemDisplay},
+ * {@code TextDisplay}...) that stay in the world, instead of sending particle packets every tick.
+ * Suited to static or slowly moving effects.
+ * <p>
+ * Each particle of a layer is mapped by index to one display entity. An entity is only teleported,
+ * with client-side interpolation, when its particle moved by more than the move threshold, and only
+ * restyled when the particle type changed. Entities are hidden by default and shown to the audience
+ * of the layer only. When a layer is {@link #release released}, its entities go back to a pool
+ * shared by every layer using this renderer.
+ * </p>
+ * <p>
+ * Rendering may happen off the main thread: the renderer keeps track of what it sent, and applies
+ * entity changes in a task on the main thread, only on ticks where something changed. The world of
+ * the entities is the world of the first player of the audience; they all move when it changes.
+ * While a layer has no audience, its entities stay hidden where they are.
+ * </p>
+ * <p>
+ * Frames rendered through a bare {@link Transform} have no layer to follow, so they all share one
+ * set of entities, moved by each such frame and removed by {@link #close()}.
+ * </p>
+ */
+public final class DisplayEntityRenderer implements ParticleRenderer {
+  private final Plugin plugin;
+  private final Class<? extends Display> displayType;
+  private final BiConsumer<Display, ParticleType> appearance;
+  private final int interpolationTicks;
+  private final int maxPooled;
+
+  // Tick thread: what was last sent for each layer
+  private final Map<TransformNode, DisplayFrameDiff.Frame> sent = new HashMap<>();
+  // Set on the main thread by close(); the tick thread then forgets what it sent and sends nothing
+  private volatile boolean closed;
+  private final DisplayFrameDiff diff;
+  // Stands for the layer of the frames rendered through a bare transform
+  private final TransformNode detached = TransformNode.root();
+
+  // Main thread: entities of each layer, and the free ones
+  private final Map<TransformNode, LayerEntities> entities = new HashMap<>();
+  private final ArrayDeque<Display> pool = new ArrayDeque<>();
+
+  private DisplayEntityRenderer(Builder builder) {
+    this.plugin = builder.plugin;
+    this.displayType = builder.displayType;
+    this.appearance = builder.appearance;
+    this.diff = new DisplayFrameDiff(builder.moveThreshold);
+    this.interpolationTicks = builder.interpolationTicks;
+    this.maxPooled = builder.maxPooled;
+  }
+
+  public static Builder builder(Plugin plugin) {
+    return new Builder(plugin);
+  }
+
+  /**
+   * Places the particles as the single layer shared by every frame rendered through a transform.
+   */
+  @Override
+  public void render(ParticleBuffer buffer, Transform transform, List<Player> players) {
+    detached.setLocal(transform);
+    render(buffer, detached, players);
+  }
+
+  @Override
+  public void render(ParticleBuffer buffer, TransformNode node, List<Player> players) {
+    if (closed) {
+      sent.clear();
+      return;
+    }
+    List<Player> audience = (players == null) ? List.of() : players;
+    DisplayFrameDiff.Frame frame = diff.next(sent.get(node), buffer, node.worldMatrix(), audience);
+    if (frame == null) {
+      return;
+    }
+    sent.put(node, frame);
+    Bukkit.getScheduler().runTask(plugin, () -> apply(node, frame));
+  }
+
+  @Override
+  public void release(TransformNode node) {
+    if (closed) {
+      sent.clear();
+      return;
+    }
+    if (sent.remove(node) != null) {
+      Bukkit.getScheduler().runTask(plugin, () -> releaseEntities(node));
+    }
+  }
+
+  /**
+   * Removes every entity, pooled or in use. Must be called on the main thread. Frames rendered
+   * afterwards, and entity changes still queued, are ignored; the thread rendering frames forgets
+   * what it sent on its next call, so frames may keep being rendered while the renderer closes.
+   */
+  public void close() {
+    closed = true;
+    for (LayerEntities layer : entities.values()) {
+      layer.displays.forEach(Display::remove);
+    }
+    entities.clear();
+    pool.forEach(Display::remove);
+    pool.clear();
+  }
+
+  // Main thread
+
+  private void apply(TransformNode node, DisplayFrameDiff.Frame frame) {
+    if (closed) {
+      return;
+    }
+    LayerEntities layer = entities.computeIfAbsent(node, n -> new LayerEntities());
+    World world = frame.world();
+    int size = frame.size();
+
+    if (!layer.audience.equals(frame.audience())) {
+      for (Display display : layer.displays) {
+        setAudience(display, layer.audience, frame.audience());
+      }
+      layer.audience = frame.audience();
+    }
+    while (layer.displays.size() > size) {
+      layer.types.remove(layer.types.size() - 1);
+      free(layer.displays.remove(layer.displays.size() - 1), layer.audience);
+    }
+    if (world == null) {
+      return;
+    }
+    for (int i = 0; i < size; i++) {
+      if (i >= layer.displays.size()) {
+        Display display = acquire(location(world, frame, i), frame.types()[i]);
+        setAudience(display, List.of(), layer.audience);
+        layer.displays.add(display);
+        layer.types.add(frame.types()[i]);
+      } else if (frame.changed()[i]) {
+        Display display = layer.displays.get(i);
+        if (layer.types.get(i) != frame.types()[i]) {
+          appearance.accept(display, frame.types()[i]);
+          layer.types.set(i, frame.types()[i]);
+        }
+        display.teleport(location(world, frame, i));
+      }
+    }
+  }
+
+  private static Location location(World world, DisplayFrameDiff.Frame frame, int index) {
+    double[] positions = frame.positions();
+    return new Location(world, positions[index * 3], positions[index * 3 + 1], positions[index * 3 + 2]);
+  }
+
+  private Display acquire(Location location, ParticleType type) {
+    Display display;
+    while ((display = pool.poll()) != null) {
+      if (display.isValid() && location.getWorld().equals(display.getWorld())) {
+        appearance.accept(display, type);
+        display.teleport(location);
+        return display;
+      }
+      display.remove();
+    }
+    return location.getWorld().spawn(location, displayType, spawned -> {
+      spawned.setPersistent(false);
+      spawned.setVisibleByDefault(false);
+      spawned.setTeleportDuration(interpolationTicks);
+      appearance.accept(spawned, type);
+    });
+  }
+
+  private void free(Display display, List<Player> audience) {
+    setAudience(display, audience, List.of());
+    if (display.isValid() && pool.size() < maxPooled) {
+      pool.push(display);
+    } else {
+      display.remove();
+    }
+  }
+
+  private void setAudience(Display display, List<Player> from, List<Player> to) {
+    Set<Player> kept = new HashSet<>(to);
+    for (Player player : from) {
+      if (!kept.contains(player)) {
+        player.hideEntity(plugin, display);
+      }
+    }
+    Set<Player> had = new HashSet<>(from);
+    for (Player player : to) {
+      if (!had.contains(player)) {
+        player.showEntity(plugin, display);
+      }
+    }
+  }
+
+  private void releaseEntities(TransformNode node) {
+    if (closed) {
+      return;
+    }
+    LayerEntities layer = entities.remove(node);
+    if (layer != null) {
+      for (Display display : layer.displays) {
+        free(display, layer.audience);
+      }
+    }
+  }
+
+  private static final class LayerEntities {
+    private final List<Display> displays = new ArrayList<>();
+    private final List<ParticleType> types = new ArrayList<>();
+    private List<Player> audience = List.of();
+  }
+
+  public static final class Builder {
+    private final Plugin plugin;
+    private Class<? extends Display> displayType;
+    private BiConsumer<Display, ParticleType> appearance;
+    private double moveThreshold = 0.05;
+    private int interpolationTicks = 3;
+    private int maxPooled = 1024;
+
+    private Builder(Plugin plugin) {
+      this.plugin = Objects.requireNonNull(plugin, "plugin");
+    }
+
+    /**
+     * Sets the entity type used for every particle, and how an entity is styled for a particle type
+     * (block, item, text, scale...).
+     */
+    public <T extends Display> Builder display(Class<T> type, BiConsumer<? super T, ParticleType> appearance) {
+      Objects.requireNonNull(type, "type");
+      Objects.requireNonNull(appearance, "appearance");
+      this.displayType = type;
+      this.appearance = (display, particleType) -> appearance.accept(type.cast(display), particleType);
+      return this;
+    }
+
+    /**
+     * Distance in blocks a particle has to move before its entity is teleported. Defaults to 0.05.
+     */
+    public Builder moveThreshold(double moveThreshold) {
+      if (!(moveThreshold >= 0.0)) {
+        throw new IllegalArgumentException("moveThreshold must be >= 0");
+      }
+      this.moveThreshold = moveThreshold;
+      return this;
+    }
+
+    /**
+     * Ticks over which the client interpolates a teleport. Defaults to 3.
+     */
+    public Builder interpolationTicks(int interpolationTicks) {
+      if (interpolationTicks < 0) {
+        throw new IllegalArgumentException("interpolationTicks must be >= 0");
+      }
+      this.interpolationTicks = interpolationTicks;
+      return this;
+    }
+
+    /**
+     * Maximum number of released entities kept for reuse; the others are removed. Defaults to 1024.
+     */
+    public Builder maxPooled(int maxPooled) {
+      if (maxPooled < 0) {
+        throw new IllegalArgumentException("maxPooled must be >= 0");
+      }
+      this.maxPooled = maxPooled;
+      return this;
+    }
+
+    public DisplayEntityRenderer build() {
+      if (displayType == null) {
+        throw new IllegalStateException("DisplayEntityRenderer requires a display type");
+      }
+      return new DisplayEntityRenderer(this);
+    }
+  }
+}
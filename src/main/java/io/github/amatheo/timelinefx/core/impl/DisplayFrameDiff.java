@@ -0,0 +1,112 @@
+package io.github.amatheo.timelinefx.core.impl;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4x3d;
+import org.joml.Vector3d;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Works out which display entities of a layer a new frame moves or restyles, given the frame last
+ * sent for that layer, for {@link DisplayEntityRenderer}.
+ * <p>
+ * The entity of a particle is flagged when the particle type changed, or when the particle moved
+ * further than the move threshold from where the entity is. Every entity is flagged when the world,
+ * that of the first player of the audience, changed. A frame without an audience does not move the
+ * entities: it only records that nobody sees them.
+ * </p>
+ * <p>
+ * Instances are not thread-safe. Returned frames are never modified.
+ * </p>
+ */
+final class DisplayFrameDiff {
+  private final double moveThresholdSquared;
+  private final Vector3d worldPos = new Vector3d();
+  private double[] positions = new double[0];
+  private ParticleType[] types = new ParticleType[0];
+  private boolean[] changed = new boolean[0];
+
+  DisplayFrameDiff(double moveThreshold) {
+    this.moveThresholdSquared = moveThreshold * moveThreshold;
+  }
+
+  /**
+   * Returns the frame that makes the entities of a layer show {@code buffer}, or {@code null} when
+   * they already do.
+   *
+   * @param previous the frame last returned for the layer, or {@code null} when it has no entities
+   */
+  @Nullable
+  Frame next(@Nullable Frame previous, ParticleBuffer buffer, Matrix4x3d toWorld, List<Player> audience) {
+    if (audience.isEmpty()) {
+      if (previous == null || previous.audience.isEmpty()) {
+        return null;
+      }
+      // Hide the entities, and keep the positions they are actually at
+      return new Frame(previous.positions, previous.types, new boolean[previous.types.length],
+          previous.world, List.of());
+    }
+
+    World world = audience.get(0).getWorld();
+    int size = buffer.size();
+    ensureCapacity(size);
+    boolean sameWorld = previous != null && Objects.equals(previous.world, world);
+    boolean anyChanged = !sameWorld || previous.types.length != size;
+    for (int i = 0; i < size; i++) {
+      toWorld.transformPosition(buffer.vertex(i).getPos(), worldPos);
+      types[i] = buffer.vertex(i).getParticleType();
+      changed[i] = false;
+      if (sameWorld && i < previous.types.length && previous.types[i] == types[i]
+          && distanceSquared(previous.positions, i, worldPos) <= moveThresholdSquared) {
+        // Keep the position the entity is actually at, so that slow drifts add up past the threshold
+        System.arraycopy(previous.positions, i * 3, positions, i * 3, 3);
+        continue;
+      }
+      positions[i * 3] = worldPos.x;
+      positions[i * 3 + 1] = worldPos.y;
+      positions[i * 3 + 2] = worldPos.z;
+      changed[i] = true;
+      anyChanged = true;
+    }
+
+    if (!anyChanged && previous.audience.equals(audience)) {
+      return null;
+    }
+    return new Frame(Arrays.copyOf(positions, size * 3), Arrays.copyOf(types, size),
+        Arrays.copyOf(changed, size), world, List.copyOf(audience));
+  }
+
+  private void ensureCapacity(int size) {
+    if (types.length < size) {
+      int capacity = Math.max(size, types.length * 2);
+      positions = new double[capacity * 3];
+      types = new ParticleType[capacity];
+      changed = new boolean[capacity];
+    }
+  }
+
+  private static double distanceSquared(double[] positions, int index, Vector3d pos) {
+    double dx = positions[index * 3] - pos.x;
+    double dy = positions[index * 3 + 1] - pos.y;
+    double dz = positions[index * 3 + 2] - pos.z;
+    return dx * dx + dy * dy + dz * dz;
+  }
+
+  /**
+   * What was sent for a layer. Positions, three per particle, are those the entities were last
+   * moved to; changed flags the entities to move or restyle.
+   */
+  record Frame(double[] positions, ParticleType[] types, boolean[] changed, @Nullable World world,
+               List<Player> audience) {
+
+    int size() {
+      return types.length;
+    }
+  }
+}
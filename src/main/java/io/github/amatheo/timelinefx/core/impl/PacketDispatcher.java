@@ -0,0 +1,207 @@
+package io.github.amatheo.timelinefx.core.impl;
+
+import com.github.fierioziy.particlenativeapi.api.packet.ParticlePacket;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends particle packets to each player from that player's own mailbox, so that a slow connection
+ * only delays its own particles instead of the thread rendering them.
+ * <p>
+ * Each render call {@link #dispatch dispatches} the list of packets it sends to its audience; the
+ * list is shared, read-only, by every player in that audience. At the {@link #endTick end of each
+ * tick}, the lists a player got during the tick are queued to their mailbox as one batch. A mailbox
+ * holds at most {@link #maxQueuedBatches()} batches, i.e. ticks: when it is full, the oldest batch
+ * is dropped, since a newer frame replaces it anyway. Mailboxes are drained by virtual threads, one
+ * at a time per player, in the order batches were queued, and are discarded once drained or once
+ * their player went offline.
+ * </p>
+ * <p>
+ * {@link #dispatch} and {@link #endTick} must be called from one thread at a time.
+ * </p>
+ */
+public final class PacketDispatcher implements AutoCloseable {
+  /** Default number of ticks of packets a player's mailbox holds before dropping the oldest. */
+  public static final int DEFAULT_MAX_QUEUED_BATCHES = 16;
+
+  private final int maxQueuedBatches;
+  private final ExecutorService executor;
+  private final Map<Player, Mailbox> mailboxes = new ConcurrentHashMap<>();
+  private final LongAdder dropped = new LongAdder();
+  // Dispatching thread: packet lists each player got during the current tick
+  private final Map<Player, List<List<ParticlePacket>>> pending = new HashMap<>();
+  private volatile boolean closed;
+
+  public PacketDispatcher() {
+    this(DEFAULT_MAX_QUEUED_BATCHES);
+  }
+
+  public PacketDispatcher(int maxQueuedBatches) {
+    this(maxQueuedBatches, Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  /**
+   * @param executor runs the mailbox drains; owned and shut down by {@link #close()}
+   */
+  public PacketDispatcher(int maxQueuedBatches, ExecutorService executor) {
+    if (maxQueuedBatches < 1) {
+      throw new IllegalArgumentException("maxQueuedBatches must be >= 1");
+    }
+    this.maxQueuedBatches = maxQueuedBatches;
+    this.executor = Objects.requireNonNull(executor, "executor");
+  }
+
+  public int maxQueuedBatches() {
+    return maxQueuedBatches;
+  }
+
+  /**
+   * Number of batches, each the packets of one player for one tick, dropped so far because a mailbox
+   * was full.
+   */
+  public long droppedBatches() {
+    return dropped.sum();
+  }
+
+  /**
+   * Adds {@code packets} to what each online player of {@code players} gets this tick. The list must
+   * not be modified afterwards.
+   */
+  public void dispatch(List<ParticlePacket> packets, Collection<Player> players) {
+    if (packets.isEmpty() || closed) {
+      return;
+    }
+    for (Player player : players) {
+      if (player.isOnline()) {
+        pending.computeIfAbsent(player, p -> new ArrayList<>()).add(packets);
+      }
+    }
+  }
+
+  /**
+   * Queues the packets dispatched since the last call as one batch per player.
+   */
+  public void endTick() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    if (!closed) {
+      for (Map.Entry<Player, List<List<ParticlePacket>>> entry : pending.entrySet()) {
+        Player player = entry.getKey();
+        Mailbox mailbox = mailboxes.computeIfAbsent(player, Mailbox::new);
+        while (!mailbox.offer(entry.getValue())) {
+          // Drained and discarded meanwhile
+          mailboxes.remove(player, mailbox);
+          mailbox = mailboxes.computeIfAbsent(player, Mailbox::new);
+        }
+      }
+    }
+    pending.clear();
+  }
+
+  // Number of mailboxes not discarded yet
+  int mailboxCount() {
+    return mailboxes.size();
+  }
+
+  /**
+   * Stops the drains and drops every queued batch.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    executor.shutdownNow();
+    mailboxes.clear();
+  }
+
+  private final class Mailbox implements Runnable {
+    private final Player player;
+    // Guarded by this
+    private final ArrayDeque<List<List<ParticlePacket>>> queue = new ArrayDeque<>();
+    private boolean draining;
+    // Set once drained; the mailbox then leaves the map and takes no more batches
+    private boolean discarded;
+
+    private Mailbox(Player player) {
+      this.player = player;
+    }
+
+    // False when the mailbox was discarded
+    private boolean offer(List<List<ParticlePacket>> batch) {
+      boolean start;
+      synchronized (this) {
+        if (discarded) {
+          return false;
+        }
+        if (queue.size() >= maxQueuedBatches) {
+          queue.poll();
+          dropped.increment();
+        }
+        queue.add(batch);
+        start = !draining;
+        draining = true;
+      }
+      if (start) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          // Closed meanwhile
+          discard();
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        List<List<ParticlePacket>> batch;
+        synchronized (this) {
+          batch = queue.poll();
+          if (batch == null) {
+            draining = false;
+            discarded = true;
+          }
+        }
+        if (batch == null) {
+          mailboxes.remove(player, this);
+          return;
+        }
+        if (!player.isOnline()) {
+          discard();
+          return;
+        }
+        try {
+          for (List<ParticlePacket> packets : batch) {
+            for (ParticlePacket packet : packets) {
+              packet.sendTo(player);
+            }
+          }
+        } catch (RuntimeException ignore) {
+          // The connection went away mid-batch; only the rest of this batch is lost
+        }
+      }
+    }
+
+    private void discard() {
+      synchronized (this) {
+        queue.clear();
+        draining = false;
+        discarded = true;
+      }
+      mailboxes.remove(player, this);
+    }
+  }
+}
@@ -1,56 +1,146 @@
 package io.github.amatheo.timelinefx.core.impl;
 
 import com.github.fierioziy.particlenativeapi.api.packet.ParticlePacket;
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
 import io.github.amatheo.timelinefx.core.ParticleRenderer;
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
 import io.github.amatheo.timelinefx.particle.ParticleVertex;
+import io.github.amatheo.timelinefx.particle.impl.ParticleClusterer;
 import io.github.amatheo.timelinefx.transform.Transform;
+import io.github.amatheo.timelinefx.transform.TransformNode;
 import org.bukkit.entity.Player;
+import org.joml.Matrix4x3d;
 import org.joml.Vector3d;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Sends one particle packet per vertex, or, when built with a {@link ParticleClusterer}, one packet
+ * with a count and an offset spread per dense cluster of vertices.
+ * <p>
+ * A vertex with a velocity is sent as a directional particle: the client moves it along the
+ * velocity, turned and scaled into world space, instead of it sitting still where it spawned.
+ * </p>
+ * <p>
+ * When built with a {@link PacketDispatcher}, the packets of a render call are collected into one
+ * list and handed to the dispatcher instead of being written inline; the dispatcher queues them to
+ * each player's mailbox at the end of the tick.
+ * </p>
+ */
 public class ParticleNativeAPIRenderer implements ParticleRenderer {
   // Pre-allocate objects to reuse across ticks and avoid GC pressure
   private final Vector3d worldPos = new Vector3d();
-  private final Vector3d scaled = new Vector3d();
-  private final Vector3d rotated = new Vector3d();
+  private final Vector3d worldVel = new Vector3d();
+  private final Matrix4x3d matrix = new Matrix4x3d();
+  private final ParticleClusterer clusterer;
+  private final ClusterSink clusterSink = new ClusterSink();
+  private final PacketDispatcher dispatcher;
+  // Packets of the current render call, when dispatching
+  private ArrayList<ParticlePacket> batch = new ArrayList<>();
+
+  public ParticleNativeAPIRenderer() {
+    this(null);
+  }
+
+  /**
+   * @param clusterer groups dense regions into spread packets, or {@code null} to send every vertex
+   */
+  public ParticleNativeAPIRenderer(ParticleClusterer clusterer) {
+    this(clusterer, null);
+  }
+
+  /**
+   * @param clusterer  groups dense regions into spread packets, or {@code null} to send every vertex
+   * @param dispatcher queues packets per player, or {@code null} to send them inline
+   */
+  public ParticleNativeAPIRenderer(ParticleClusterer clusterer, PacketDispatcher dispatcher) {
+    this.clusterer = clusterer;
+    this.dispatcher = dispatcher;
+  }
 
   @Override
   public void render(ParticleBuffer buffer, Transform transform, List<Player> players) {
     if (buffer.size() == 0) return;
 
-    for (ParticleVertex vertex : buffer.view()) {
-      applyTransformToVertex(vertex, transform, worldPos);
-      ParticlePacket packet = vertex.getParticleType().packet(false, worldPos.x(), worldPos.y(), worldPos.z());
-      sendPacket(packet, players);
+    // Scale, then rotate, then translate
+    matrix.translationRotateScale(transform.position(), transform.rotation(), transform.scale());
+    render(buffer, matrix, players);
+  }
+
+  @Override
+  public void render(ParticleBuffer buffer, TransformNode node, List<Player> players) {
+    if (buffer.size() == 0) return;
+
+    // One matrix multiply per vertex instead of scale, rotate and translate steps
+    render(buffer, node.worldMatrix(), players);
+  }
+
+  private void render(ParticleBuffer buffer, Matrix4x3d toWorld, List<Player> players) {
+    if (players == null || players.isEmpty()) return;
+    // Left over when a previous call failed midway
+    batch.clear();
+
+    if (clusterer != null) {
+      clusterSink.toWorld = toWorld;
+      clusterSink.players = players;
+      try {
+        clusterer.cluster(buffer, toWorld, clusterSink);
+      } finally {
+        clusterSink.toWorld = null;
+        clusterSink.players = null;
+      }
+    } else {
+      for (ParticleVertex vertex : buffer.view()) {
+        toWorld.transformPosition(vertex.getPos(), worldPos);
+        sendVertex(vertex, worldPos.x(), worldPos.y(), worldPos.z(), toWorld, players);
+      }
+    }
+    if (dispatcher != null && !batch.isEmpty()) {
+      // The mailboxes keep the list; start a new one
+      dispatcher.dispatch(batch, players);
+      batch = new ArrayList<>(batch.size());
+    }
+  }
+
+  private void sendVertex(ParticleVertex vertex, double x, double y, double z, Matrix4x3d toWorld,
+                          List<Player> players) {
+    Vector3d vel = vertex.getVel();
+    ParticlePacket packet;
+    if (vel == null) {
+      packet = vertex.getParticleType().packet(false, x, y, z);
+    } else {
+      // A count of 0 makes the offset a direction, scaled by the speed
+      toWorld.transformDirection(vel, worldVel);
+      packet = vertex.getParticleType().packet(false, x, y, z, worldVel.x(), worldVel.y(), worldVel.z(), 1.0, 0);
     }
+    sendPacket(packet, players);
   }
 
   /**
-   * Sends a particle packet to the specified players.
+   * Sends a particle packet to the specified players, or adds it to the batch being dispatched.
    */
   private void sendPacket(ParticlePacket packet, List<Player> players) {
-    if (players != null && !players.isEmpty()) {
+    if (dispatcher != null) {
+      batch.add(packet);
+    } else {
       packet.sendTo(players);
     }
   }
 
-  /**
-   * Apply transform to vertex and store result in outWorldPos.
-   * Uses member variables to avoid allocations.
-   * @param vertex The particle vertex to transform
-   * @param t The transform to apply
-   * @param outWorldPos Output parameter for the world position
-   */
-  private void applyTransformToVertex(ParticleVertex vertex, Transform t, Vector3d outWorldPos) {
-    Vector3d local = vertex.getPos();
-    // Scale: local * scale -> scaled
-    local.mul(t.scale(), scaled);
-    // Rotate: rotation.transform(scaled) -> rotated
-    t.rotation().transform(scaled, rotated);
-    // Translate: position + rotated -> outWorldPos
-    t.position().add(rotated, outWorldPos);
-  }
+  private final class ClusterSink implements ParticleClusterer.Sink {
+    private Matrix4x3d toWorld;
+    private List<Player> players;
 
+    @Override
+    public void single(ParticleVertex vertex, double x, double y, double z) {
+      sendVertex(vertex, x, y, z, toWorld, players);
+    }
+
+    @Override
+    public void cluster(ParticleType particleType, double x, double y, double z,
+                        double spreadX, double spreadY, double spreadZ, int count) {
+      sendPacket(particleType.packet(false, x, y, z, spreadX, spreadY, spreadZ, 0.0, count), players);
+    }
+  }
 }
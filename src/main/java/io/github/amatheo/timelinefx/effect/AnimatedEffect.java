@@ -3,27 +3,135 @@ package io.github.amatheo.timelinefx.effect;
 import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * Base class for effects using {@link AnimatedProperty} annotations.
  * Automatically binds annotated fields before rendering.
  *
  * <p>Rendering occurs when properties change, context is used, or on first sample.
  * This ensures constructor-initialized properties render correctly.
+ *
+ * <p>Passing the very same {@link EvaluatedParams} instance as the previous sample tells the
+ * effect that nothing changed, and skips property binding altogether. With versioned params, only
+ * the properties whose value has a new version stamp are compared and bound, and
+ * {@link #propertyChanged(String)} tells a render which of them actually changed.
+ *
+ * <p>When only some properties changed, an effect can patch its previous frame instead of
+ * rendering from scratch, by overriding {@link #canRenderChanges()} and {@link #renderChanges}.
+ *
+ * <p>An effect waiting for data computed in the background calls {@link #invalidate()} once it is
+ * ready, to be rendered again on the next sample.
  */
 public abstract class AnimatedEffect implements Effect {
 
   private boolean hasRenderedOnce = false;
+  private EvaluatedParams lastParams;
+  private List<String> propertyNames;
+  private long[] seenVersions;
+  private final BitSet changedProperties = new BitSet();
+  // Buffer holding the last rendered frame, copied into the next buffer when patching
+  private ParticleBuffer lastOut;
+  private volatile boolean invalidated;
 
   @Override
   public final void sample(EffectSamplingContext ctx, EvaluatedParams params, ParticleBuffer outBuffer) {
-    boolean propsChanged = PropertyBinder.bindPropertiesAndDetectChanges(this, params);
-    boolean shouldRender = propsChanged || usesContext() || !hasRenderedOnce;
+    boolean propsChanged = false;
+    if (params != lastParams || !hasRenderedOnce) {
+      propsChanged = PropertyBinder.bindPropertiesAndDetectChanges(this, params, seenVersions(), changedProperties);
+      lastParams = params;
+    } else {
+      changedProperties.clear();
+    }
+    boolean invalid = invalidated;
+    if (invalid) {
+      invalidated = false;
+    }
+    boolean shouldRender = propsChanged || invalid || usesContext() || !hasRenderedOnce;
     if (!shouldRender) {
       return;
     }
-    outBuffer.clear();
-    render(ctx, outBuffer);
-    hasRenderedOnce = true;
+    if (propsChanged && !invalid && hasRenderedOnce && lastOut != null && !usesContext() && canRenderChanges()) {
+      if (outBuffer != lastOut) {
+        outBuffer.copyFrom(lastOut);
+      }
+      renderChanges(ctx, outBuffer);
+    } else {
+      outBuffer.clear();
+      render(ctx, outBuffer);
+      hasRenderedOnce = true;
+    }
+    lastOut = outBuffer;
+  }
+
+  private long[] seenVersions() {
+    if (seenVersions == null) {
+      seenVersions = new long[propertyNames().size()];
+      Arrays.fill(seenVersions, -1L);
+    }
+    return seenVersions;
+  }
+
+  private List<String> propertyNames() {
+    if (propertyNames == null) {
+      propertyNames = PropertyBinder.propertyNames(getClass());
+    }
+    return propertyNames;
+  }
+
+  /**
+   * Requests a full render on the next sample, even if no property changed. Safe to call from any
+   * thread, typically when background work the effect was waiting for completes.
+   */
+  protected final void invalidate() {
+    invalidated = true;
+  }
+
+  /**
+   * Returns true if the property with the given name (as bound in the timeline) was updated by the
+   * last sample. Only looks at the properties that changed.
+   */
+  protected boolean propertyChanged(String name) {
+    for (int i = changedProperties.nextSetBit(0); i >= 0; i = changedProperties.nextSetBit(i + 1)) {
+      if (propertyNames().get(i).equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the names of the properties updated by the last sample.
+   */
+  protected List<String> changedProperties() {
+    List<String> names = new ArrayList<>(changedProperties.cardinality());
+    for (int i = changedProperties.nextSetBit(0); i >= 0; i = changedProperties.nextSetBit(i + 1)) {
+      names.add(propertyNames().get(i));
+    }
+    return names;
+  }
+
+  /**
+   * Returns true if every property updated by the last sample is one of {@code names}.
+   */
+  protected boolean onlyChanged(String... names) {
+    for (int i = changedProperties.nextSetBit(0); i >= 0; i = changedProperties.nextSetBit(i + 1)) {
+      String changed = propertyNames().get(i);
+      boolean listed = false;
+      for (String name : names) {
+        if (name.equals(changed)) {
+          listed = true;
+          break;
+        }
+      }
+      if (!listed) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -31,6 +139,25 @@ public abstract class AnimatedEffect implements Effect {
    */
   protected abstract void render(EffectSamplingContext ctx, ParticleBuffer out);
 
+  /**
+   * Override to return true if the properties that changed since the last render (see
+   * {@link #propertyChanged(String)}) can be applied by {@link #renderChanges}. Effects using the
+   * sampling context are always fully rendered.
+   */
+  protected boolean canRenderChanges() {
+    return false;
+  }
+
+  /**
+   * Patches the previous frame after a property change accepted by {@link #canRenderChanges()}.
+   * {@code out} already holds the particles of the last render, and is updated in place. The default
+   * implementation clears it and renders the effect again.
+   */
+  protected void renderChanges(EffectSamplingContext ctx, ParticleBuffer out) {
+    out.clear();
+    render(ctx, out);
+  }
+
   /**
    * Override to return true if this effect uses sampling context for dynamic behavior.
    */
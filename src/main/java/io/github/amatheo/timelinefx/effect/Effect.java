@@ -2,6 +2,19 @@ package io.github.amatheo.timelinefx.effect;
 
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
 
+import java.util.List;
+
 public interface Effect {
     void sample(EffectSamplingContext ctx, EvaluatedParams params, ParticleBuffer outBuffer);
+
+    /**
+     * Called when a clip starts, with values a parameter is known to take while it plays (such as
+     * its keyframe values), so that expensive data derived from them can be prepared in the
+     * background. Does nothing by default.
+     *
+     * @param parameter the parameter name
+     * @param values    the known values, never empty
+     */
+    default void prefetch(String parameter, List<?> values) {
+    }
 }
\ No newline at end of file
@@ -1,5 +1,48 @@
 package io.github.amatheo.timelinefx.effect;
 
-import java.util.Random;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
 
-public record EffectSamplingContext(long tick, double dtSeconds, Random rng) {}
+/**
+ * What an effect may read while sampling a frame: the tick, the tick duration, and the random
+ * stream of the layer being sampled. The stream is not shared with other layers, and is seeded
+ * from the seed of its clip.
+ * <p>
+ * The engine keeps one instance per layer and {@link #advance advances} it before each sample
+ * instead of allocating a new one; an effect must not keep it past the call it was handed to.
+ * </p>
+ */
+public final class EffectSamplingContext {
+  private long tick;
+  private double dtSeconds;
+  private final RandomGenerator rng;
+
+  public EffectSamplingContext(long tick, double dtSeconds, RandomGenerator rng) {
+    this.tick = tick;
+    this.dtSeconds = dtSeconds;
+    this.rng = Objects.requireNonNull(rng, "rng");
+  }
+
+  public long tick() {
+    return tick;
+  }
+
+  public double dtSeconds() {
+    return dtSeconds;
+  }
+
+  public RandomGenerator rng() {
+    return rng;
+  }
+
+  /**
+   * Moves this context to another frame of the same layer.
+   *
+   * @return this context
+   */
+  public EffectSamplingContext advance(long tick, double dtSeconds) {
+    this.tick = tick;
+    this.dtSeconds = dtSeconds;
+    return this;
+  }
+}
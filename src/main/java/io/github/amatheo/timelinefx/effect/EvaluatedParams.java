@@ -4,16 +4,31 @@ import org.bukkit.Color;
 import org.joml.Vector3d;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public final class EvaluatedParams implements AutoCloseable {
   private static final ThreadLocal<Deque<EvaluatedParams>> STACK = ThreadLocal.withInitial(ArrayDeque::new);
-  private final Map<String, Object> values;
+  private Map<String, Object> values;
+  // Slot-backed params: values are read from the slots, and the map is only built for raw()
+  private final ParameterSchema schema;
+  private final Object[] slots;
+  private final long[] versions;
 
   private EvaluatedParams(Map<String, Object> values) {
     this.values = values;
+    this.schema = null;
+    this.slots = null;
+    this.versions = null;
+  }
+
+  private EvaluatedParams(ParameterSchema schema, Object[] slots, long[] versions) {
+    this.schema = schema;
+    this.slots = slots;
+    this.versions = versions;
   }
 
   public static EvaluatedParams fromValues(Map<String, Object> values) {
@@ -23,37 +38,115 @@ public final class EvaluatedParams implements AutoCloseable {
     return new EvaluatedParams(Map.copyOf(values));
   }
 
+  /**
+   * Wraps {@code values} without copying them. The caller must not modify the map while the params
+   * are in use; it is meant for owners that rebuild the map in place every tick.
+   */
+  public static EvaluatedParams wrap(Map<String, Object> values) {
+    return new EvaluatedParams(values == null ? Map.of() : Collections.unmodifiableMap(values));
+  }
+
+  /**
+   * Wraps slot values laid out by {@code schema} without copying them; a {@code null} slot is an
+   * absent parameter. The caller must not modify the array while the params are in use.
+   */
+  public static EvaluatedParams ofSlots(ParameterSchema schema, Object[] slots) {
+    return ofSlots(schema, slots, null);
+  }
+
+  /**
+   * Like {@link #ofSlots(ParameterSchema, Object[])}, with the version stamp of each slot value.
+   * Binding skips the fields whose slot version did not change since the values they last received.
+   *
+   * @param versions version stamp of each slot, as defined by
+   *                 {@link io.github.amatheo.timelinefx.animation.Versions}, or {@code null}
+   */
+  public static EvaluatedParams ofSlots(ParameterSchema schema, Object[] slots, long[] versions) {
+    if (slots.length != schema.size()) {
+      throw new IllegalArgumentException("Expected " + schema.size() + " slots, got " + slots.length);
+    }
+    if (versions != null && versions.length != slots.length) {
+      throw new IllegalArgumentException("Expected " + slots.length + " versions, got " + versions.length);
+    }
+    return new EvaluatedParams(schema, slots, versions);
+  }
+
+  /**
+   * The schema of slot-backed params, or {@code null} if they are backed by a map.
+   */
+  public ParameterSchema schema() {
+    return schema;
+  }
+
+  /**
+   * Returns the value in {@code slot} of slot-backed params, or {@code null} if it is absent.
+   */
+  public Object slot(int slot) {
+    return slots[slot];
+  }
+
+  /**
+   * Returns true if the slot values carry version stamps.
+   */
+  public boolean isVersioned() {
+    return versions != null;
+  }
+
+  /**
+   * Returns the version stamp of the value in {@code slot} of versioned params.
+   */
+  public long version(int slot) {
+    return versions[slot];
+  }
+
   public Map<String, Object> raw() {
+    if (values == null) {
+      Map<String, Object> map = new HashMap<>();
+      for (int i = 0; i < slots.length; i++) {
+        if (slots[i] != null) {
+          map.put(schema.name(i), slots[i]);
+        }
+      }
+      values = Collections.unmodifiableMap(map);
+    }
     return values;
   }
 
+  private Object lookup(String key) {
+    if (slots == null) {
+      return values.get(key);
+    }
+    int slot = schema.slotOf(key);
+    return slot >= 0 ? slots[slot] : null;
+  }
+
   public Object getRaw(String key, Object def) {
-    Object v = values.get(key);
+    Object v = lookup(key);
     if (v == null) return def;
     return v;
   }
 
   // Type-safe helpers
   public double getDouble(String key, double def) {
-    Object v = values.get(key);
+    Object v = lookup(key);
     if (v instanceof Number n) return n.doubleValue();
     return def;
   }
 
   public int getInt(String key, int def) {
-    Object v = values.get(key);
+    Object v = lookup(key);
     if (v instanceof Number n) return n.intValue();
     return def;
   }
 
   public boolean getBool(String key, boolean def) {
-    Object v = values.get(key);
+    Object v = lookup(key);
     if (v instanceof Boolean b) return b;
     return def;
   }
 
   public Vector3d getVec3(String key, Vector3d def) {
-    Object v = values.get(key);
+    Object v = lookup(key);
     if (v instanceof Vector3d vv) return vv;
     if (v instanceof List<?> lst && lst.size() == 3 && lst.stream().allMatch(x -> x instanceof Number)) {
       return new Vector3d(((Number) lst.get(0)).doubleValue(), ((Number) lst.get(1)).doubleValue(), ((Number) lst.get(2)).doubleValue());
@@ -62,17 +155,17 @@ public final class EvaluatedParams implements AutoCloseable {
   }
 
   public Color getColor(String key, Color def) {
-    Object v = values.get(key);
+    Object v = lookup(key);
     if (v instanceof Color c) return c;
     return def;
   }
 
   public boolean has(String key) {
-    return values.containsKey(key);
+    return slots != null ? lookup(key) != null : values.containsKey(key);
   }
 
   public Object raw(String key) {
-    return values.get(key);
+    return lookup(key);
   }
 
   @Override
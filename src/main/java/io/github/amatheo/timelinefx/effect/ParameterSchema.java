@@ -0,0 +1,98 @@
+package io.github.amatheo.timelinefx.effect;
+
+import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slot layout of the parameters passed to one effect.
+ * <p>
+ * A schema is resolved once, when a clip is built: the {@link AnimatedProperty} fields of the effect
+ * class come first, then every other parameter bound above the effect. Parameter values can then be
+ * layered and read by slot index, without hashing names every tick.
+ * </p>
+ */
+public final class ParameterSchema {
+  private final Class<?> effectClass;
+  private final String[] names;
+  private final Map<String, Integer> slots;
+  private final int[] fieldSlots;
+
+  private ParameterSchema(Class<?> effectClass, List<String> fieldNames, Collection<String> extraNames) {
+    this.effectClass = effectClass;
+    this.slots = new HashMap<>();
+    List<String> names = new ArrayList<>();
+    this.fieldSlots = new int[fieldNames.size()];
+    for (int i = 0; i < fieldSlots.length; i++) {
+      fieldSlots[i] = slotFor(fieldNames.get(i), names);
+    }
+    for (String name : extraNames) {
+      slotFor(name, names);
+    }
+    this.names = names.toArray(new String[0]);
+  }
+
+  /**
+   * Creates the schema of an effect class.
+   *
+   * @param effectClass class whose {@link AnimatedProperty} fields are bound by slot, or {@code null}
+   *                    for effects that only read their parameters by name
+   * @param extraNames  names of the other parameters that may be passed to the effect
+   */
+  public static ParameterSchema of(Class<?> effectClass, Collection<String> extraNames) {
+    List<String> fieldNames = (effectClass != null) ? PropertyBinder.propertyNames(effectClass) : List.of();
+    return new ParameterSchema(effectClass, fieldNames, extraNames);
+  }
+
+  private int slotFor(String name, List<String> names) {
+    return slots.computeIfAbsent(name, k -> {
+      names.add(k);
+      return names.size() - 1;
+    });
+  }
+
+  /**
+   * The effect class whose property fields this schema was resolved for, or {@code null}.
+   */
+  public Class<?> effectClass() {
+    return effectClass;
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  public String name(int slot) {
+    return names[slot];
+  }
+
+  /**
+   * Returns the slot of {@code name}, or -1 if the schema has none.
+   */
+  public int slotOf(String name) {
+    Integer slot = slots.get(name);
+    return slot != null ? slot : -1;
+  }
+
+  /**
+   * Resolves the slots of {@code names}, in order. Names outside the schema map to -1.
+   */
+  public int[] slotsOf(List<String> names) {
+    int[] result = new int[names.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = slotOf(names.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Slot of each {@link AnimatedProperty} field, in {@link PropertyBinder} binding order.
+   */
+  int[] fieldSlots() {
+    return fieldSlots;
+  }
+}
@@ -0,0 +1,40 @@
+package io.github.amatheo.timelinefx.effect;
+
+import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
+
+/**
+ * Direct access to the {@link AnimatedProperty} fields declared by one effect class.
+ * <p>
+ * Implementations are generated at compile time by the {@code AnimatedPropertyProcessor}, as
+ * {@code <binary class name>$$PropertyAccessor} next to the effect class, and are used by
+ * {@link PropertyBinder} instead of reflection. Private fields cannot be accessed from generated
+ * code and are left out; they keep being bound reflectively.
+ * </p>
+ *
+ * @param <T> the declaring effect class
+ */
+public interface PropertyAccessor<T> {
+  /** Suffix appended to the binary name of an effect class to name its accessor. */
+  String SUFFIX = "$$PropertyAccessor";
+
+  /**
+   * Java names of the accessible fields, indexed as in the other methods.
+   */
+  String[] fieldNames();
+
+  /**
+   * Returns true if {@code value} is not equal to the current value of the field.
+   */
+  boolean differs(T effect, int field, Object value);
+
+  /**
+   * Writes {@code value}, already converted to the field type, into the field. The value is cast to
+   * the boxed field type, so values of primitive fields are still passed boxed and unboxed here.
+   */
+  void set(T effect, int field, Object value);
+
+  /**
+   * Returns true if the field is unset: {@code null}, or zero or {@code false} for primitives.
+   */
+  boolean isUnset(T effect, int field);
+}
@@ -1,14 +1,19 @@
 package io.github.amatheo.timelinefx.effect;
 
+import io.github.amatheo.timelinefx.animation.Versions;
 import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
 import org.bukkit.Color;
+import org.joml.Quaterniond;
 import org.joml.Vector3d;
 
 import java.lang.invoke.*;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,6 +25,8 @@ import java.util.function.Function;
  *
  * <p>This class uses reflection to discover fields annotated with {@link AnimatedProperty}
  * and automatically populates them with values from the provided {@link EvaluatedParams}.
+ * Fields are written through the {@link PropertyAccessor} generated for their declaring class
+ * when there is one, and through method handles otherwise.
  *
  * <p>Parameters are passed explicitly through method signatures rather than using ThreadLocal,
  * making the data flow clear and improving testability.
@@ -35,6 +42,7 @@ public final class PropertyBinder {
   private static List<Binding> buildBindings(Class<?> effectClass) {
     final ArrayList<Binding> list = new ArrayList<>();
     final var lookup = MethodHandles.lookup();
+    final Map<Class<?>, PropertyAccessor<Object>> accessors = new HashMap<>();
 
     for (Field f : getAllInstanceFields(effectClass)) {
       AnimatedProperty ann = f.getAnnotation(AnimatedProperty.class);
@@ -49,15 +57,17 @@ public final class PropertyBinder {
         String name = ann.name().isEmpty() ? f.getName() : ann.name();
         Class<?> fieldType = f.getType();
 
-        BiConsumer<Object, Object> setter = compileSetter(lookup, f);
-        Function<Object, Object> getter = compileGetter(lookup, f);
+        FieldAccess access = generatedAccess(f, accessors);
+        if (access == null) {
+          access = new ReflectiveAccess(compileSetter(lookup, f), compileGetter(lookup, f), fieldType);
+        }
 
-        ValueExtractor extractor = buildExtractor(fieldType);
+        ValueConverter converter = buildConverter(fieldType);
 
         boolean hasDefault = ann.defaultValue() != null && !ann.defaultValue().isEmpty();
         Object defaultValue = hasDefault ? parseDefault(ann.defaultValue(), fieldType) : null;
 
-        list.add(new Binding(name, fieldType, setter, getter, extractor, hasDefault, defaultValue));
+        list.add(new Binding(name, fieldType, access, converter, hasDefault, defaultValue));
       } catch (Throwable e) {
         throw new IllegalStateException("Failed to bind @AnimatedProperty for field '" + f + "' in " + effectClass, e);
       }
@@ -65,6 +75,66 @@ public final class PropertyBinder {
     return Collections.unmodifiableList(list);
   }
 
+  private static FieldAccess generatedAccess(Field f, Map<Class<?>, PropertyAccessor<Object>> accessors)
+      throws ReflectiveOperationException {
+    Class<?> owner = f.getDeclaringClass();
+    PropertyAccessor<Object> accessor;
+    if (accessors.containsKey(owner)) {
+      accessor = accessors.get(owner);
+    } else {
+      accessor = loadAccessor(owner);
+      accessors.put(owner, accessor);
+    }
+    if (accessor == null) {
+      return null;
+    }
+    String[] names = accessor.fieldNames();
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(f.getName())) {
+        return new GeneratedAccess(accessor, i);
+      }
+    }
+    // Private fields are not covered by generated accessors
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static PropertyAccessor<Object> loadAccessor(Class<?> owner) throws ReflectiveOperationException {
+    Class<?> type;
+    try {
+      type = Class.forName(owner.getName() + PropertyAccessor.SUFFIX, true, owner.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+    return (PropertyAccessor<Object>) type.getDeclaredConstructor().newInstance();
+  }
+
+  /**
+   * Returns the parameter names of the {@link AnimatedProperty} fields of {@code effectClass}, in the
+   * order in which they are bound.
+   */
+  static List<String> propertyNames(Class<?> effectClass) {
+    List<Binding> bindings = CACHE.computeIfAbsent(effectClass, PropertyBinder::buildBindings);
+    List<String> names = new ArrayList<>(bindings.size());
+    for (Binding b : bindings) {
+      names.add(b.name);
+    }
+    return names;
+  }
+
+  /**
+   * Returns true if the field bound to {@code property} is written through a generated
+   * {@link PropertyAccessor}, false if it is written reflectively.
+   */
+  static boolean usesGeneratedAccessor(Class<?> effectClass, String property) {
+    for (Binding b : CACHE.computeIfAbsent(effectClass, PropertyBinder::buildBindings)) {
+      if (b.name.equals(property)) {
+        return b.access instanceof GeneratedAccess;
+      }
+    }
+    throw new IllegalArgumentException("No animated property '" + property + "' in " + effectClass);
+  }
+
   private static List<Field> getAllInstanceFields(Class<?> type) {
     ArrayList<Field> out = new ArrayList<>();
     Class<?> c = type;
@@ -130,54 +200,107 @@ public final class PropertyBinder {
    * @return true if any field was updated
    */
   public static boolean bindPropertiesAndDetectChanges(Object effectInstance, EvaluatedParams params) {
+    return bindPropertiesAndDetectChanges(effectInstance, params, null, null);
+  }
+
+  /**
+   * Variant of {@link #bindPropertiesAndDetectChanges(Object, EvaluatedParams)} that skips fields
+   * whose value has the same version stamp as the value they last received. Fields are then only
+   * compared and written when their slot changed, so a field modified by other code is not reset
+   * until its parameter changes.
+   *
+   * @param seenVersions version last bound to each field, in binding order, updated in place; filled
+   *                     with -1 to bind every field, or {@code null} to disable version checks
+   * @param changedOut   receives the binding index of every updated field, or {@code null}
+   */
+  static boolean bindPropertiesAndDetectChanges(Object effectInstance, EvaluatedParams params,
+                                                long[] seenVersions, BitSet changedOut) {
+    if (changedOut != null) changedOut.clear();
     if (effectInstance == null) return false;
 
     final Class<?> type = effectInstance.getClass();
     final List<Binding> bindings = CACHE.computeIfAbsent(type, PropertyBinder::buildBindings);
 
+    // Params laid out for this class are read by slot, with the conversion chosen at bind time
+    ParameterSchema schema = (params != null) ? params.schema() : null;
+    int[] fieldSlots = (schema != null && schema.effectClass() == type) ? schema.fieldSlots() : null;
+    boolean versioned = seenVersions != null && fieldSlots != null && params.isVersioned();
+    if (seenVersions != null && !versioned) {
+      // Values from other sources cannot be matched against the versions seen so far
+      Arrays.fill(seenVersions, -1L);
+    }
+
     boolean changed = false;
-    for (Binding b : bindings) {
-      Object currentValue = b.getter.apply(effectInstance);
-      Object newValue = (params != null) ? b.readFromParams(params) : ABSENT;
+    for (int i = 0, n = bindings.size(); i < n; i++) {
+      Binding b = bindings.get(i);
+      Object newValue;
+      if (params == null) {
+        newValue = ABSENT;
+      } else if (fieldSlots != null) {
+        int slot = fieldSlots[i];
+        Object raw = params.slot(slot);
+        if (versioned) {
+          long version = params.version(slot);
+          if (raw != null && Versions.unchanged(version, seenVersions[i])) {
+            continue;
+          }
+          seenVersions[i] = version;
+        }
+        newValue = (raw != null) ? b.converter.convert(raw) : ABSENT;
+      } else {
+        newValue = b.readFromParams(params);
+      }
 
       if (newValue != ABSENT) {
-        if (!java.util.Objects.equals(currentValue, newValue)) {
-          b.setter.accept(effectInstance, newValue);
+        if (b.access.differs(effectInstance, newValue)) {
+          b.access.set(effectInstance, detach(newValue));
           changed = true;
+          if (changedOut != null) changedOut.set(i);
         }
         continue;
       }
       
-      if (b.hasDefault && isUnset(currentValue, b.fieldType)) {
-        if (!java.util.Objects.equals(currentValue, b.defaultValue)) {
-          b.setter.accept(effectInstance, b.defaultValue);
+      if (b.hasDefault && b.access.isUnset(effectInstance)) {
+        if (b.access.differs(effectInstance, b.defaultValue)) {
+          b.access.set(effectInstance, b.defaultValue);
           changed = true;
+          if (changedOut != null) changedOut.set(i);
         }
       }
     }
     return changed;
   }
 
-  private static ValueExtractor buildExtractor(Class<?> target) {
-    if (target == double.class || target == Double.class) return (p, k) -> number(p, k, Double.class);
-    if (target == float.class || target == Float.class) return (p, k) -> number(p, k, Float.class);
-    if (target == int.class || target == Integer.class) return (p, k) -> number(p, k, Integer.class);
-    if (target == long.class || target == Long.class) return (p, k) -> number(p, k, Long.class);
+  /**
+   * Copies mutable JOML values before they are stored in an effect. Timeline snapshots rewrite their
+   * vectors in place, so keeping a reference would let the field change behind the effect's back and
+   * defeat change detection.
+   */
+  private static Object detach(Object value) {
+    if (value instanceof Vector3d v) return new Vector3d(v);
+    if (value instanceof Quaterniond q) return new Quaterniond(q);
+    return value;
+  }
+
+  private static ValueConverter buildConverter(Class<?> target) {
+    if (target == double.class || target == Double.class) return v -> number(v, Double.class);
+    if (target == float.class || target == Float.class) return v -> number(v, Float.class);
+    if (target == int.class || target == Integer.class) return v -> number(v, Integer.class);
+    if (target == long.class || target == Long.class) return v -> number(v, Long.class);
     if (target == boolean.class || target == Boolean.class) return PropertyBinder::bool;
 
-    if (target == String.class)
-      return (p, k) -> !p.has(k) ? ABSENT : (p.raw(k) == null ? null : String.valueOf(p.raw(k)));
-    if (target == Vector3d.class) return (p, k) -> !p.has(k) ? ABSENT : (p.raw(k) instanceof Vector3d v ? v : ABSENT);
-    if (target == Color.class) return (p, k) -> !p.has(k) ? ABSENT : (p.raw(k) instanceof Color c ? c : ABSENT);
+    if (target == String.class) return v -> v == null ? null : String.valueOf(v);
+    if (target == Vector3d.class) return v -> v instanceof Vector3d ? v : ABSENT;
+    if (target == Color.class) return v -> v instanceof Color ? v : ABSENT;
 
     // Fallback: if present, pass as is
-    return (p, k) -> !p.has(k) ? ABSENT : p.raw(k);
+    return v -> v;
   }
 
-  private static Object number(EvaluatedParams p, String key, Class<?> to) {
-    if (!p.has(key)) return ABSENT;
-    Object v = p.raw(key);
+  private static Object number(Object v, Class<?> to) {
     if (v == null) return null;
+    // Already the field type: the common case for timeline values
+    if (v.getClass() == to) return v;
     if (v instanceof Number n) {
       if (to == Double.class) return n.doubleValue();
       if (to == Float.class) return n.floatValue();
@@ -196,9 +319,7 @@ public final class PropertyBinder {
     return ABSENT;
   }
 
-  private static Object bool(EvaluatedParams p, String key) {
-    if (!p.has(key)) return ABSENT;
-    Object v = p.raw(key);
+  private static Object bool(Object v) {
     if (v == null) return null;
     if (v instanceof Boolean b) return b;
     if (v instanceof String s) {
@@ -235,16 +356,61 @@ public final class PropertyBinder {
   }
 
 
-  private interface ValueExtractor {
-    Object extract(EvaluatedParams params, String key);
+  /**
+   * Converts a raw parameter value to the field type, or returns {@code ABSENT} if it cannot.
+   */
+  private interface ValueConverter {
+    Object convert(Object value);
+  }
+
+  private interface FieldAccess {
+    boolean differs(Object effect, Object value);
+
+    void set(Object effect, Object value);
+
+    boolean isUnset(Object effect);
+  }
+
+  private record GeneratedAccess(PropertyAccessor<Object> accessor, int index) implements FieldAccess {
+    @Override
+    public boolean differs(Object effect, Object value) {
+      return accessor.differs(effect, index, value);
+    }
+
+    @Override
+    public void set(Object effect, Object value) {
+      accessor.set(effect, index, value);
+    }
+
+    @Override
+    public boolean isUnset(Object effect) {
+      return accessor.isUnset(effect, index);
+    }
+  }
+
+  private record ReflectiveAccess(BiConsumer<Object, Object> setter, Function<Object, Object> getter,
+                                  Class<?> fieldType) implements FieldAccess {
+    @Override
+    public boolean differs(Object effect, Object value) {
+      return !java.util.Objects.equals(getter.apply(effect), value);
+    }
+
+    @Override
+    public void set(Object effect, Object value) {
+      setter.accept(effect, value);
+    }
+
+    @Override
+    public boolean isUnset(Object effect) {
+      return PropertyBinder.isUnset(getter.apply(effect), fieldType);
+    }
   }
 
-  private record Binding(String name, Class<?> fieldType, BiConsumer<Object, Object> setter,
-                         Function<Object, Object> getter, ValueExtractor extractor, boolean hasDefault,
-                         Object defaultValue) {
+  private record Binding(String name, Class<?> fieldType, FieldAccess access, ValueConverter converter,
+                         boolean hasDefault, Object defaultValue) {
 
     Object readFromParams(EvaluatedParams params) {
-      return extractor.extract(params, name);
+      return params.has(name) ? converter.convert(params.raw(name)) : ABSENT;
     }
   }
 }
@@ -0,0 +1,227 @@
+package io.github.amatheo.timelinefx.effect.geometry;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of {@link UnitGeometry} keyed by shape parameters, so that effects animating only
+ * their size or transform do not regenerate identical points on every render.
+ * <p>
+ * Keys must implement {@code equals}/{@code hashCode} (records are a good fit). Once the cache holds
+ * {@link #capacity()} geometries, the least recently used one is evicted. A geometry may be built
+ * twice when requested concurrently; either result is equivalent.
+ * </p>
+ * <p>
+ * Expensive geometry can be built off the tick with {@link #getAsync}, on the executor of the cache
+ * (the common fork-join pool by default).
+ * </p>
+ */
+public final class GeometryCache {
+  /** Default number of geometries kept by {@link #shared()}. */
+  public static final int DEFAULT_CAPACITY = 256;
+
+  private static final GeometryCache SHARED = new GeometryCache(DEFAULT_CAPACITY);
+
+  private final int capacity;
+  private final LinkedHashMap<Object, UnitGeometry> entries;
+  private final Executor executor;
+  // Builds running on the executor, by key. Guarded by this.
+  private final Map<Object, CompletableFuture<UnitGeometry>> pending = new HashMap<>();
+
+  public GeometryCache(int capacity) {
+    this(capacity, ForkJoinPool.commonPool());
+  }
+
+  public GeometryCache(int capacity, Executor executor) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be > 0");
+    }
+    this.capacity = capacity;
+    this.executor = Objects.requireNonNull(executor, "executor");
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Object, UnitGeometry> eldest) {
+        return size() > GeometryCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Returns the cache shared by the built-in effects.
+   */
+  public static GeometryCache shared() {
+    return SHARED;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the geometry cached for {@code key}, building it with {@code factory} on a miss.
+   */
+  public UnitGeometry get(Object key, Supplier<UnitGeometry> factory) {
+    Objects.requireNonNull(key, "key");
+    Objects.requireNonNull(factory, "factory");
+    synchronized (this) {
+      UnitGeometry cached = entries.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    // Built outside the lock, so a slow shape does not stall lookups of other shapes
+    UnitGeometry built = Objects.requireNonNull(factory.get(), "factory result");
+    synchronized (this) {
+      UnitGeometry raced = entries.putIfAbsent(key, built);
+      return raced != null ? raced : built;
+    }
+  }
+
+  /**
+   * Returns the geometry cached for {@code key}, or {@code null} without building it.
+   */
+  public synchronized UnitGeometry getIfPresent(Object key) {
+    return entries.get(Objects.requireNonNull(key, "key"));
+  }
+
+  /**
+   * Returns the geometry cached for {@code key}, building it with {@code factory} on the executor
+   * on a miss. The returned future is already completed on a hit, and requests for a key that is
+   * being built share the same future.
+   */
+  public CompletableFuture<UnitGeometry> getAsync(Object key, Supplier<UnitGeometry> factory) {
+    Objects.requireNonNull(key, "key");
+    Objects.requireNonNull(factory, "factory");
+    CompletableFuture<UnitGeometry> future;
+    synchronized (this) {
+      UnitGeometry cached = entries.get(key);
+      if (cached != null) {
+        return CompletableFuture.completedFuture(cached);
+      }
+      CompletableFuture<UnitGeometry> building = pending.get(key);
+      if (building != null) {
+        return building;
+      }
+      future = new CompletableFuture<>();
+      pending.put(key, future);
+    }
+    try {
+      executor.execute(() -> build(key, factory, future));
+    } catch (RejectedExecutionException e) {
+      synchronized (this) {
+        pending.remove(key);
+      }
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  private void build(Object key, Supplier<UnitGeometry> factory, CompletableFuture<UnitGeometry> future) {
+    UnitGeometry result;
+    try {
+      UnitGeometry built = Objects.requireNonNull(factory.get(), "factory result");
+      synchronized (this) {
+        UnitGeometry raced = entries.putIfAbsent(key, built);
+        result = raced != null ? raced : built;
+      }
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+      return;
+    } finally {
+      synchronized (this) {
+        pending.remove(key);
+      }
+    }
+    future.complete(result);
+  }
+
+  /**
+   * Unit circle on the XZ plane, starting on +X.
+   */
+  public UnitGeometry circle(int points) {
+    if (points <= 0) {
+      return UnitGeometry.empty();
+    }
+    return get(new CircleKey(points), () -> {
+      double[] coords = new double[points * 3];
+      for (int i = 0; i < points; i++) {
+        double angle = (2 * Math.PI * i) / points;
+        coords[i * 3] = Math.cos(angle);
+        coords[i * 3 + 2] = Math.sin(angle);
+      }
+      return UnitGeometry.of(coords);
+    });
+  }
+
+  /**
+   * Unit sphere made of {@code rings + 1} latitude rings, pole to pole, of {@code segments} points.
+   */
+  public UnitGeometry sphere(int rings, int segments) {
+    if (rings <= 0 || segments <= 0) {
+      return UnitGeometry.empty();
+    }
+    return get(new SphereKey(rings, segments), () -> {
+      double[] coords = new double[(rings + 1) * segments * 3];
+      int k = 0;
+      for (int ring = 0; ring <= rings; ring++) {
+        double phi = Math.PI * ring / rings;
+        double sinPhi = Math.sin(phi);
+        double cosPhi = Math.cos(phi);
+        for (int segment = 0; segment < segments; segment++) {
+          double theta = 2.0 * Math.PI * segment / segments;
+          coords[k++] = sinPhi * Math.cos(theta);
+          coords[k++] = cosPhi;
+          coords[k++] = sinPhi * Math.sin(theta);
+        }
+      }
+      return UnitGeometry.of(coords);
+    });
+  }
+
+  /**
+   * Unit sphere covered evenly by {@code points} points on a Fibonacci lattice: one point per
+   * latitude band of equal area, each turned by the golden angle from the previous one.
+   */
+  public UnitGeometry fibonacciSphere(int points) {
+    if (points <= 0) {
+      return UnitGeometry.empty();
+    }
+    return get(new FibonacciSphereKey(points), () -> {
+      double goldenAngle = Math.PI * (3.0 - Math.sqrt(5.0));
+      double[] coords = new double[points * 3];
+      for (int i = 0; i < points; i++) {
+        double y = 1.0 - 2.0 * (i + 0.5) / points;
+        double ringRadius = Math.sqrt(1.0 - y * y);
+        double theta = goldenAngle * i;
+        coords[i * 3] = ringRadius * Math.cos(theta);
+        coords[i * 3 + 1] = y;
+        coords[i * 3 + 2] = ringRadius * Math.sin(theta);
+      }
+      return UnitGeometry.of(coords);
+    });
+  }
+
+  /**
+   * Removes every cached geometry.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  private record CircleKey(int points) {}
+
+  private record SphereKey(int rings, int segments) {}
+
+  private record FibonacciSphereKey(int points) {}
+}
@@ -0,0 +1,106 @@
+package io.github.amatheo.timelinefx.effect.geometry;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import org.joml.Vector3d;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable set of points in unit space, scaled by effects when they emit it.
+ */
+public final class UnitGeometry {
+  private static final UnitGeometry EMPTY = new UnitGeometry(new double[0]);
+
+  // x, y, z of every point, interleaved
+  private final double[] coords;
+
+  private UnitGeometry(double[] coords) {
+    this.coords = coords;
+  }
+
+  /**
+   * Creates a geometry from interleaved x, y, z coordinates. The array is copied.
+   */
+  public static UnitGeometry of(double[] coords) {
+    Objects.requireNonNull(coords, "coords");
+    if (coords.length % 3 != 0) {
+      throw new IllegalArgumentException("coords length must be a multiple of 3");
+    }
+    return coords.length == 0 ? EMPTY : new UnitGeometry(coords.clone());
+  }
+
+  public static UnitGeometry empty() {
+    return EMPTY;
+  }
+
+  public int size() {
+    return coords.length / 3;
+  }
+
+  public double x(int index) {
+    return coords[index * 3];
+  }
+
+  public double y(int index) {
+    return coords[index * 3 + 1];
+  }
+
+  public double z(int index) {
+    return coords[index * 3 + 2];
+  }
+
+  /**
+   * Adds every point, scaled by {@code scale}, to {@code out}.
+   */
+  public void emit(ParticleBuffer out, double scale, ParticleType particleType) {
+    out.ensureCapacity(out.size() + size());
+    Vector3d pos = new Vector3d();
+    for (int i = 0; i < coords.length; i += 3) {
+      out.add(pos.set(coords[i] * scale, coords[i + 1] * scale, coords[i + 2] * scale), particleType);
+    }
+  }
+
+  /**
+   * Adds a random subset of the points, scaled by {@code scale}, to {@code out}. Each point is kept
+   * with probability {@code density}, independently. Rather than drawing once per point, the gap to
+   * the next kept point is drawn from the matching geometric distribution, so the cost is
+   * proportional to the number of points kept.
+   */
+  public void emitSampled(ParticleBuffer out, double scale, ParticleType particleType, double density, RandomGenerator rng) {
+    if (density >= 1.0) {
+      emit(out, scale, particleType);
+      return;
+    }
+    if (!(density > 0.0)) {
+      return;
+    }
+    int count = size();
+    out.ensureCapacity(out.size() + (int) Math.ceil(count * density));
+    double logSkip = Math.log1p(-density);
+    Vector3d pos = new Vector3d();
+    int index = -1;
+    while (true) {
+      // 1 - nextDouble() is in (0, 1], so the logarithm is finite; very long gaps stay in double
+      double next = index + 1.0 + Math.floor(Math.log(1.0 - rng.nextDouble()) / logSkip);
+      if (next >= count) {
+        return;
+      }
+      index = (int) next;
+      int i = index * 3;
+      out.add(pos.set(coords[i] * scale, coords[i + 1] * scale, coords[i + 2] * scale), particleType);
+    }
+  }
+
+  /**
+   * Moves the first {@link #size()} particles of {@code out}, previously emitted from this
+   * geometry, to the points scaled by {@code scale}.
+   */
+  public void rescale(ParticleBuffer out, double scale) {
+    int count = Math.min(size(), out.size());
+    for (int i = 0; i < count; i++) {
+      out.vertex(i).getPos().set(coords[i * 3] * scale, coords[i * 3 + 1] * scale, coords[i * 3 + 2] * scale);
+    }
+  }
+}
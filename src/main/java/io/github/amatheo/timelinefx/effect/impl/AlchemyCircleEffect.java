@@ -4,10 +4,15 @@ import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
 import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
 import io.github.amatheo.timelinefx.effect.AnimatedEffect;
 import io.github.amatheo.timelinefx.effect.EffectSamplingContext;
+import io.github.amatheo.timelinefx.effect.geometry.GeometryCache;
+import io.github.amatheo.timelinefx.effect.geometry.UnitGeometry;
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
-import org.joml.Vector3d;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 
 /**
@@ -15,6 +20,7 @@ import java.util.Arrays;
  * Uses a seed-based algorithm to create unique geometric patterns.
  */
 public final class AlchemyCircleEffect extends AnimatedEffect {
+  private static final Logger LOGGER = Logger.getLogger(AlchemyCircleEffect.class.getName());
 
   private static final int RESOLUTION = 128;
   private static final double SCALE_FACTOR = 1.0 / (RESOLUTION / 2.0);
@@ -35,8 +41,15 @@ public final class AlchemyCircleEffect extends AnimatedEffect {
   @AnimatedProperty(defaultValue = "1.0")
   public Double density;
 
-  private byte[][] pixelBuffer;
+  // Lit pixels of the pattern for lastSeed, shared with every instance through the geometry cache
+  private UnitGeometry pattern;
   private int lastSeed = Integer.MIN_VALUE;
+  // Pattern for pendingSeed, generated in the background; the previous pattern is shown meanwhile
+  private CompletableFuture<UnitGeometry> pendingPattern;
+  private int pendingSeed;
+  // Seed whose pattern failed to generate, not requested again until the seed changes
+  private long failedSeed = Long.MIN_VALUE;
+  private boolean rendered;
 
   public AlchemyCircleEffect(ParticleType particleType) {
     this.particleType = particleType;
@@ -47,30 +60,89 @@ public final class AlchemyCircleEffect extends AnimatedEffect {
 
   @Override
   protected void render(EffectSamplingContext ctx, ParticleBuffer out) {
-    // Regenerate buffer only when seed changes
-    if (seed != lastSeed) {
-      pixelBuffer = AlchemyCircleGenerator.generateBuffer(seed);
-      lastSeed = seed;
+    // Look the pattern up only when seed changes
+    if ((pattern == null || seed != lastSeed) && seed != failedSeed) {
+      int s = seed;
+      if (pendingPattern == null || pendingSeed != s) {
+        pendingSeed = s;
+        pendingPattern = requestPattern(s);
+        if (!pendingPattern.isDone()) {
+          pendingPattern.whenComplete((result, error) -> invalidate());
+        }
+      }
+      if (pendingPattern.isDone()) {
+        CompletableFuture<UnitGeometry> done = pendingPattern;
+        pendingPattern = null;
+        if (done.isCompletedExceptionally()) {
+          // Keep showing the previous pattern
+          failedSeed = s;
+          Throwable error = done.isCancelled() ? null : done.exceptionNow();
+          LOGGER.log(Level.WARNING, "Could not generate the alchemy circle for seed " + s, error);
+        } else {
+          pattern = done.join();
+          lastSeed = s;
+        }
+      }
     }
 
-    if (pixelBuffer == null || particleType == null) {
+    rendered = particleType != null && pattern != null;
+    if (!rendered) {
       return;
     }
 
     double densityClamped = Math.max(0.0, Math.min(1.0, density));
+    pattern.emitSampled(out, 1.0, particleType, densityClamped, ctx.rng());
+  }
+
+  @Override
+  public void prefetch(String parameter, List<?> values) {
+    if (!"seed".equals(parameter)) {
+      return;
+    }
+    for (Object value : values) {
+      if (value instanceof Number number) {
+        requestPattern(number.intValue());
+      }
+    }
+  }
 
+  private static CompletableFuture<UnitGeometry> requestPattern(int seed) {
+    return GeometryCache.shared().getAsync(new PatternKey(seed),
+        () -> litPixels(AlchemyCircleGenerator.generateBuffer(seed)));
+  }
+
+  // Packs the lit pixels, row by row, normalized to [-1, 1] on the XZ plane
+  private static UnitGeometry litPixels(byte[][] pixels) {
+    int lit = 0;
+    for (byte[] row : pixels) {
+      for (byte pixel : row) {
+        if (pixel == AlchemyCircleGenerator.PIXEL_ON) lit++;
+      }
+    }
+    double[] coords = new double[lit * 3];
+    int k = 0;
     for (int y = 0; y < RESOLUTION; y++) {
       for (int x = 0; x < RESOLUTION; x++) {
-        if (pixelBuffer[y][x] == AlchemyCircleGenerator.PIXEL_ON) {
-          if (densityClamped >= 1.0 || ctx.rng().nextDouble() < densityClamped) {
-            // Normalize coordinates to [-1, 1] and place on XZ plane
-            double normX = (x - RESOLUTION / 2.0) * SCALE_FACTOR;
-            double normZ = (y - RESOLUTION / 2.0) * SCALE_FACTOR;
-            out.add(new Vector3d(normX, 0, normZ), particleType);
-          }
+        if (pixels[y][x] == AlchemyCircleGenerator.PIXEL_ON) {
+          coords[k] = (x - RESOLUTION / 2.0) * SCALE_FACTOR;
+          coords[k + 2] = (y - RESOLUTION / 2.0) * SCALE_FACTOR;
+          k += 3;
         }
       }
     }
+    return UnitGeometry.of(coords);
+  }
+
+  private record PatternKey(int seed) {}
+
+  @Override
+  protected boolean canRenderChanges() {
+    return onlyChanged("particleType") && rendered && particleType != null;
+  }
+
+  @Override
+  protected void renderChanges(EffectSamplingContext ctx, ParticleBuffer out) {
+    out.retype(particleType);
   }
 
   /**
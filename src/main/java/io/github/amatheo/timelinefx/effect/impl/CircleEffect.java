@@ -4,8 +4,9 @@ import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
 import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
 import io.github.amatheo.timelinefx.effect.AnimatedEffect;
 import io.github.amatheo.timelinefx.effect.EffectSamplingContext;
+import io.github.amatheo.timelinefx.effect.geometry.GeometryCache;
+import io.github.amatheo.timelinefx.effect.geometry.UnitGeometry;
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
-import org.joml.Vector3d;
 
 /**
  * Flat circle made of particles.
@@ -21,6 +22,9 @@ public final class CircleEffect extends AnimatedEffect {
   @AnimatedProperty(defaultValue = "64")
   public Integer points;
 
+  // Unit points of the last render, rescaled when only the radius changes
+  private UnitGeometry rendered;
+
   public CircleEffect() {
   }
 
@@ -30,12 +34,20 @@ public final class CircleEffect extends AnimatedEffect {
 
   @Override
   protected void render(EffectSamplingContext ctx, ParticleBuffer out) {
-    out.ensureCapacity(points);
-    for (int i = 0; i < points; i++) {
-      double angle = (2 * Math.PI * i) / points;
-      double x = Math.cos(angle) * radius;
-      double z = Math.sin(angle) * radius;
-      out.add(new Vector3d(x, 0, z), particleType);
+    rendered = GeometryCache.shared().circle(points);
+    rendered.emit(out, radius, particleType);
+  }
+
+  @Override
+  protected boolean canRenderChanges() {
+    return onlyChanged("particleType", "radius") && rendered != null;
+  }
+
+  @Override
+  protected void renderChanges(EffectSamplingContext ctx, ParticleBuffer out) {
+    if (propertyChanged("radius")) {
+      rendered.rescale(out, radius);
     }
+    out.retype(particleType);
   }
 }
@@ -4,6 +4,8 @@ import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
 import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
 import io.github.amatheo.timelinefx.effect.AnimatedEffect;
 import io.github.amatheo.timelinefx.effect.EffectSamplingContext;
+import io.github.amatheo.timelinefx.effect.geometry.GeometryCache;
+import io.github.amatheo.timelinefx.effect.geometry.UnitGeometry;
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
 import org.joml.Vector3d;
 
@@ -31,6 +33,8 @@ public final class RegularPolyhedronEffect extends AnimatedEffect {
 
   public enum Solid { TETRAHEDRON, CUBE, OCTAHEDRON, DODECAHEDRON, ICOSAHEDRON }
 
+  private boolean rendered;
+
 
   public RegularPolyhedronEffect(ParticleType particleType) {
     this.particleType = Objects.requireNonNull(particleType, "particleType");
@@ -42,21 +46,42 @@ public final class RegularPolyhedronEffect extends AnimatedEffect {
 
   @Override
   protected void render(EffectSamplingContext ctx, ParticleBuffer buffer) {
-    if (particleType == null) return; // nothing to render
-    final Mesh mesh = buildUnitEdgeMesh(solid);
-
+    rendered = particleType != null;
+    if (!rendered) return; // nothing to render
+    final Solid s = solid;
     final int P = Math.max(2, pointsPerEdge);
-    final double step = 1.0 / (P - 1);
+    UnitGeometry points = GeometryCache.shared().get(new WireframeKey(s, P), () -> buildWireframe(s, P));
+    points.emit(buffer, 1.0, particleType);
+  }
+
+  @Override
+  protected boolean canRenderChanges() {
+    return onlyChanged("particleType") && rendered && particleType != null;
+  }
 
+  @Override
+  protected void renderChanges(EffectSamplingContext ctx, ParticleBuffer buffer) {
+    buffer.retype(particleType);
+  }
+
+  private static UnitGeometry buildWireframe(Solid solid, int pointsPerEdge) {
+    final Mesh mesh = buildUnitEdgeMesh(solid);
+    final double step = 1.0 / (pointsPerEdge - 1);
+    double[] coords = new double[mesh.edges.length * pointsPerEdge * 3];
+    int k = 0;
+    Vector3d p = new Vector3d();
     for (int[] e : mesh.edges) {
-      final Vector3d a = new Vector3d(mesh.vertices[e[0]]);
-      final Vector3d b = new Vector3d(mesh.vertices[e[1]]);
-      for (int i = 0; i < P; i++) {
+      final Vector3d a = mesh.vertices[e[0]];
+      final Vector3d b = mesh.vertices[e[1]];
+      for (int i = 0; i < pointsPerEdge; i++) {
         double t = i * step;
-        Vector3d p = new Vector3d(a).lerp(b, t);
-        buffer.add(p, particleType);
+        p.set(a).lerp(b, t);
+        coords[k++] = p.x;
+        coords[k++] = p.y;
+        coords[k++] = p.z;
       }
     }
+    return UnitGeometry.of(coords);
   }
 
   private static Mesh buildUnitEdgeMesh(Solid solid) {
@@ -97,6 +122,8 @@ public final class RegularPolyhedronEffect extends AnimatedEffect {
 
   private record Mesh(Vector3d[] vertices, int[][] edges) {}
 
+  private record WireframeKey(Solid solid, int pointsPerEdge) {}
+
 
   // === Canonical vertex sets ===
   private static Vector3d[] vertsTetra() {
@@ -5,13 +5,14 @@ import io.github.amatheo.timelinefx.effect.EffectSamplingContext;
 import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
 import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
 import io.github.amatheo.timelinefx.effect.*;
+import io.github.amatheo.timelinefx.effect.geometry.GeometryCache;
+import io.github.amatheo.timelinefx.effect.geometry.UnitGeometry;
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
-import org.joml.Vector3d;
 
 import java.util.Objects;
 
 /**
- * Sphere surface made of particles.
+ * Sphere surface made of particles, either on a latitude/longitude grid or spread evenly.
  */
 public final class SphereEffect extends AnimatedEffect {
 
@@ -28,6 +29,24 @@ public final class SphereEffect extends AnimatedEffect {
   @AnimatedProperty(defaultValue = "32")
   public Integer segments;
 
+  /** How points are laid out on the sphere. */
+  @AnimatedProperty
+  public Distribution distribution = Distribution.GRID;
+
+  /** Number of points of the {@link Distribution#FIBONACCI} layout. */
+  @AnimatedProperty(defaultValue = "256")
+  public Integer points;
+
+  public enum Distribution {
+    /** {@code rings + 1} rings of {@code segments} points; denser toward the poles. */
+    GRID,
+    /** {@code points} points covering the sphere uniformly. */
+    FIBONACCI
+  }
+
+  // Unit points of the last render, rescaled when only the radius changes
+  private UnitGeometry rendered;
+
   public SphereEffect(ParticleType particleType) {
     this.particleType = Objects.requireNonNull(particleType, "particleType");
   }
@@ -37,28 +56,26 @@ public final class SphereEffect extends AnimatedEffect {
 
   @Override
   protected void render(EffectSamplingContext ctx, ParticleBuffer out) {
+    rendered = null;
     if (radius <= 0.0) {
       return;
     }
-    out.ensureCapacity(rings * segments);
-
-    for (int ring = 0; ring <= rings; ring++) {
-      double v = (double) ring / rings;
-      double phi = Math.PI * v;
-      double sinPhi = Math.sin(phi);
-      double cosPhi = Math.cos(phi);
-
-      for (int segment = 0; segment < segments; segment++) {
-        double u = (double) segment / segments;
-        double theta = 2.0 * Math.PI * u;
-        double sinTheta = Math.sin(theta);
-        double cosTheta = Math.cos(theta);
-
-        double x = radius * sinPhi * cosTheta;
-        double y = radius * cosPhi;
-        double z = radius * sinPhi * sinTheta;
-        out.add(new Vector3d(x, y, z), particleType);
-      }
+    rendered = (distribution == Distribution.FIBONACCI)
+        ? GeometryCache.shared().fibonacciSphere(points)
+        : GeometryCache.shared().sphere(rings, segments);
+    rendered.emit(out, radius, particleType);
+  }
+
+  @Override
+  protected boolean canRenderChanges() {
+    return onlyChanged("particleType", "radius") && rendered != null && radius > 0.0;
+  }
+
+  @Override
+  protected void renderChanges(EffectSamplingContext ctx, ParticleBuffer out) {
+    if (propertyChanged("radius")) {
+      rendered.rescale(out, radius);
     }
+    out.retype(particleType);
   }
 }
@@ -1,5 +1,6 @@
 package io.github.amatheo.timelinefx.orchestration;
 
+import io.github.amatheo.timelinefx.core.FrameContext;
 import io.github.amatheo.timelinefx.core.Playable;
 import io.github.amatheo.timelinefx.core.PlaybackContext;
 import org.bukkit.Bukkit;
@@ -22,7 +23,7 @@ public final class Callback implements Playable {
     this.sync = sync;
   }
 
-  public void start(PlaybackContext ctx) {
+  public void start(PlaybackContext ctx, long startTick) {
     if (sync) {
       // For sync actions, schedule on Bukkit's main thread
       Bukkit.getScheduler().runTask(ctx.plugin(), r);
@@ -34,7 +35,7 @@ public final class Callback implements Playable {
     done = true;
   }
 
-  public void tick(PlaybackContext ctx) {
+  public void tick(FrameContext frame) {
   }
 
   public boolean isDone() {
@@ -1,5 +1,6 @@
 package io.github.amatheo.timelinefx.orchestration;
 
+import io.github.amatheo.timelinefx.core.FrameContext;
 import io.github.amatheo.timelinefx.core.Playable;
 import io.github.amatheo.timelinefx.core.PlaybackContext;
 
@@ -36,13 +37,13 @@ public final class Parallel implements Playable {
     return new ParallelBuilder();
   }
 
-  public void start(PlaybackContext ctx) {
+  public void start(PlaybackContext ctx, long startTick) {
     completionFired = false;
-    children.forEach(p -> p.start(ctx));
+    children.forEach(p -> p.start(ctx, startTick));
   }
 
-  public void tick(PlaybackContext ctx) {
-    children.forEach(child -> child.tick(ctx));
+  public void tick(FrameContext frame) {
+    children.forEach(child -> child.tick(frame));
     fireIfNeeded();
   }
 
@@ -50,6 +51,20 @@ public final class Parallel implements Playable {
     return children.stream().allMatch(Playable::isDone);
   }
 
+  /**
+   * The earliest wake tick of the children still running.
+   */
+  @Override
+  public long wakeTick() {
+    long wake = Long.MAX_VALUE;
+    for (Playable child : children) {
+      if (!child.isDone()) {
+        wake = Math.min(wake, child.wakeTick());
+      }
+    }
+    return (wake == Long.MAX_VALUE) ? Long.MIN_VALUE : wake;
+  }
+
   public void stop(PlaybackContext ctx) {
     children.forEach(p -> p.stop(ctx));
     fireIfNeeded();
@@ -1,6 +1,7 @@
 package io.github.amatheo.timelinefx.orchestration;
 
 import io.github.amatheo.timelinefx.core.EffectClip;
+import io.github.amatheo.timelinefx.core.FrameContext;
 import io.github.amatheo.timelinefx.core.Playable;
 import io.github.amatheo.timelinefx.core.PlaybackContext;
 
@@ -27,23 +28,25 @@ public final class Sequence implements Playable {
     this.onComplete = onComplete;
   }
 
-  public void start(PlaybackContext ctx) {
+  public void start(PlaybackContext ctx, long startTick) {
     completionFired = false;
     index = 0;
     if (!list.isEmpty()) {
-      list.getFirst().start(ctx);
+      list.getFirst().start(ctx, startTick);
     }
   }
 
-  public void tick(PlaybackContext ctx) {
+  public void tick(FrameContext frame) {
     if (index < 0 || index >= list.size()) return;
     var cur = list.get(index);
-    cur.tick(ctx);
+    cur.tick(frame);
     if (cur.isDone()) {
+      PlaybackContext ctx = frame.playback();
       cur.stop(ctx);
       index++;
       if (index < list.size()) {
-        list.get(index).start(ctx);
+        // On the frame's tick: the clock may already be past it
+        list.get(index).start(ctx, frame.tick());
       } else {
         fireIfNeeded();
       }
@@ -54,6 +57,14 @@ public final class Sequence implements Playable {
     return index >= list.size();
   }
 
+  /**
+   * The wake tick of the running item, so that a wait or a delayed clip parks the whole sequence.
+   */
+  @Override
+  public long wakeTick() {
+    return (index >= 0 && index < list.size()) ? list.get(index).wakeTick() : Long.MIN_VALUE;
+  }
+
   public void stop(PlaybackContext ctx) {
     if (index >= 0 && index < list.size()) list.get(index).stop(ctx);
     fireIfNeeded();
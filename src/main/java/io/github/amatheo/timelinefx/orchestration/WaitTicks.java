@@ -1,28 +1,34 @@
 package io.github.amatheo.timelinefx.orchestration;
 
+import io.github.amatheo.timelinefx.core.FrameContext;
 import io.github.amatheo.timelinefx.core.Playable;
 import io.github.amatheo.timelinefx.core.PlaybackContext;
 
 public final class WaitTicks implements Playable {
   private final long ticks;
-  private long start;
-  private PlaybackContext context;
+  private long start = -1L;
+  // Updated from the frame on each tick, so that isDone does not read the clock
+  private boolean done;
   public WaitTicks(long ticks) {
     this.ticks = ticks;
   }
 
-  public void start(PlaybackContext ctx) {
-    start = ctx.nowTick().get();
-    this.context = ctx;
+  public void start(PlaybackContext ctx, long startTick) {
+    start = startTick;
+    done = ticks <= 0;
   }
 
-  public void tick(PlaybackContext ctx) {
+  public void tick(FrameContext frame) {
+    done = start >= 0 && (frame.tick() - start) >= ticks;
   }
 
   public boolean isDone() {
-    if (start < 0) return false;
-    long now = context.nowTick().get();
-    return (now - start) >= ticks;
+    return done;
+  }
+
+  @Override
+  public long wakeTick() {
+    return (start < 0) ? Long.MIN_VALUE : start + ticks;
   }
 
  public void stop(PlaybackContext ctx){
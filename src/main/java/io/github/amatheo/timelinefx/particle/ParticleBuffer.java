@@ -18,6 +18,34 @@ public interface ParticleBuffer {
   /** Returns a read-only view without copying. */
   List<ParticleVertex> view();
 
+  /**
+   * Returns the vertex at {@code index}, which may be modified in place to patch a rendered frame.
+   */
+  default ParticleVertex vertex(int index) {
+    return view().get(index);
+  }
+
+  /**
+   * Sets the particle type of every particle in the buffer.
+   */
+  default void retype(ParticleType particleType) {
+    for (int i = 0; i < size(); i++) {
+      vertex(i).setParticleType(particleType);
+    }
+  }
+
+  /**
+   * Replaces the content of this buffer with a copy of the particles of {@code source}.
+   */
+  default void copyFrom(ParticleBuffer source) {
+    clear();
+    ensureCapacity(source.size());
+    for (ParticleVertex vertex : source.view()) {
+      add(vertex.getPos(), vertex.getParticleType(), vertex.getVel());
+      vertex(size() - 1).setParticleData(vertex.getParticleData());
+    }
+  }
+
   /**
    * Make sure the backing array can hold at least minCapacity elements without resizing.
    * @param minCapacity the desired minimum capacity
@@ -0,0 +1,83 @@
+package io.github.amatheo.timelinefx.particle.impl;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+
+import java.util.Arrays;
+
+/**
+ * Numbers the distinct (grid cell, particle type) pairs seen since the last {@link #reset}, in order
+ * of first appearance. Backed by an open-addressing hash table of primitive arrays that is reused
+ * from one reset to the next and forgotten in O(1) with generation stamps.
+ */
+final class CellIndex {
+  private static final int MIN_CAPACITY = 64;
+
+  // Slot i holds the cell cells[3i..3i+2], type types[i] and index ids[i], when stamps[i] == generation
+  private long[] cells = new long[MIN_CAPACITY * 3];
+  private ParticleType[] types = new ParticleType[MIN_CAPACITY];
+  private int[] ids = new int[MIN_CAPACITY];
+  private int[] stamps = new int[MIN_CAPACITY];
+  private int generation;
+  private int size;
+
+  /**
+   * Forgets every pair, and sizes the table for up to {@code maxPairs} pairs at a load factor of at
+   * most 1/2.
+   */
+  void reset(int maxPairs) {
+    int capacity = stamps.length;
+    if (capacity < maxPairs * 2) {
+      while (capacity < maxPairs * 2) {
+        capacity <<= 1;
+      }
+      cells = new long[capacity * 3];
+      types = new ParticleType[capacity];
+      ids = new int[capacity];
+      stamps = new int[capacity];
+      generation = 0;
+    }
+    generation++;
+    if (generation == 0) {
+      // Wrapped around: stale stamps could match again
+      Arrays.fill(stamps, 0);
+      generation = 1;
+    }
+    size = 0;
+  }
+
+  /** Number of distinct pairs seen since the last reset. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the index of the pair, numbering it {@link #size()} if it was not seen yet.
+   */
+  int indexOf(long x, long y, long z, ParticleType type) {
+    int mask = stamps.length - 1;
+    int slot = hash(x, y, z, type) & mask;
+    while (stamps[slot] == generation) {
+      int base = slot * 3;
+      if (cells[base] == x && cells[base + 1] == y && cells[base + 2] == z && types[slot] == type) {
+        return ids[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    stamps[slot] = generation;
+    int base = slot * 3;
+    cells[base] = x;
+    cells[base + 1] = y;
+    cells[base + 2] = z;
+    types[slot] = type;
+    ids[slot] = size;
+    return size++;
+  }
+
+  private static int hash(long x, long y, long z, ParticleType type) {
+    long h = x * 0x9E3779B97F4A7C15L;
+    h = (h ^ y) * 0xC2B2AE3D27D4EB4FL;
+    h = (h ^ z) * 0x165667B19E3779F9L;
+    h ^= System.identityHashCode(type);
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -0,0 +1,165 @@
+package io.github.amatheo.timelinefx.particle.impl;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import io.github.amatheo.timelinefx.particle.ParticleVertex;
+import org.joml.Matrix4x3d;
+import org.joml.Vector3d;
+
+import java.util.Arrays;
+
+/**
+ * Groups the particles of a buffer that fall in the same cube of a world-space voxel grid, so that a
+ * dense region can be sent as one particle packet with a count and an offset spread.
+ * <p>
+ * A voxel holding at least {@link #minClusterSize()} particles of the same type becomes a cluster,
+ * centred on their mean position, with the standard deviation of their positions along each axis as
+ * spread. Particles in sparser voxels, and particles with a velocity or particle data, are passed on
+ * one by one.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class ParticleClusterer {
+  private final double cellSize;
+  private final double inverseCellSize;
+  private final int minClusterSize;
+  private final CellIndex voxels = new CellIndex();
+  private final Vector3d worldPos = new Vector3d();
+
+  // Per particle: world position and voxel index (-1 when not clustered)
+  private double[] world = new double[0];
+  private int[] voxelOf = new int[0];
+  // Per voxel: particle count, sums and sums of squares of the coordinates, and whether it was emitted
+  private int[] counts = new int[0];
+  private double[] sums = new double[0];
+  private double[] squares = new double[0];
+  private boolean[] emitted = new boolean[0];
+
+  public ParticleClusterer(double cellSize, int minClusterSize) {
+    if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+      throw new IllegalArgumentException("cellSize must be a finite value > 0");
+    }
+    if (minClusterSize < 2) {
+      throw new IllegalArgumentException("minClusterSize must be >= 2");
+    }
+    this.cellSize = cellSize;
+    this.inverseCellSize = 1.0 / cellSize;
+    this.minClusterSize = minClusterSize;
+  }
+
+  public double cellSize() {
+    return cellSize;
+  }
+
+  public int minClusterSize() {
+    return minClusterSize;
+  }
+
+  /**
+   * Places the particles of {@code buffer} with {@code toWorld}, and hands each cluster, and each
+   * particle left out of any cluster, to {@code sink}, in order of first appearance.
+   */
+  public void cluster(ParticleBuffer buffer, Matrix4x3d toWorld, Sink sink) {
+    int size = buffer.size();
+    ensureParticleCapacity(size);
+    voxels.reset(size);
+
+    for (int i = 0; i < size; i++) {
+      ParticleVertex vertex = buffer.vertex(i);
+      toWorld.transformPosition(vertex.getPos(), worldPos);
+      world[i * 3] = worldPos.x;
+      world[i * 3 + 1] = worldPos.y;
+      world[i * 3 + 2] = worldPos.z;
+      if (vertex.getVel() != null || vertex.getParticleData() != null) {
+        voxelOf[i] = -1;
+        continue;
+      }
+      int known = voxels.size();
+      int voxel = voxels.indexOf((long) Math.floor(worldPos.x * inverseCellSize),
+          (long) Math.floor(worldPos.y * inverseCellSize),
+          (long) Math.floor(worldPos.z * inverseCellSize), vertex.getParticleType());
+      if (voxel == known) {
+        startVoxel(voxel);
+      }
+      voxelOf[i] = voxel;
+      accumulate(voxel);
+    }
+
+    for (int i = 0; i < size; i++) {
+      int voxel = voxelOf[i];
+      if (voxel < 0 || counts[voxel] < minClusterSize) {
+        sink.single(buffer.vertex(i), world[i * 3], world[i * 3 + 1], world[i * 3 + 2]);
+      } else if (!emitted[voxel]) {
+        emitted[voxel] = true;
+        emitCluster(voxel, buffer.vertex(i).getParticleType(), sink);
+      }
+    }
+  }
+
+  private void startVoxel(int voxel) {
+    ensureVoxelCapacity(voxel + 1);
+    counts[voxel] = 0;
+    emitted[voxel] = false;
+    Arrays.fill(sums, voxel * 3, voxel * 3 + 3, 0.0);
+    Arrays.fill(squares, voxel * 3, voxel * 3 + 3, 0.0);
+  }
+
+  private void accumulate(int voxel) {
+    counts[voxel]++;
+    int base = voxel * 3;
+    sums[base] += worldPos.x;
+    sums[base + 1] += worldPos.y;
+    sums[base + 2] += worldPos.z;
+    squares[base] += worldPos.x * worldPos.x;
+    squares[base + 1] += worldPos.y * worldPos.y;
+    squares[base + 2] += worldPos.z * worldPos.z;
+  }
+
+  private void emitCluster(int voxel, ParticleType particleType, Sink sink) {
+    int count = counts[voxel];
+    int base = voxel * 3;
+    double x = sums[base] / count;
+    double y = sums[base + 1] / count;
+    double z = sums[base + 2] / count;
+    sink.cluster(particleType, x, y, z,
+        deviation(squares[base] / count, x), deviation(squares[base + 1] / count, y),
+        deviation(squares[base + 2] / count, z), count);
+  }
+
+  private static double deviation(double meanOfSquares, double mean) {
+    // Rounding can make the variance slightly negative
+    return Math.sqrt(Math.max(0.0, meanOfSquares - mean * mean));
+  }
+
+  private void ensureParticleCapacity(int size) {
+    if (voxelOf.length < size) {
+      int capacity = Math.max(size, voxelOf.length * 2);
+      world = new double[capacity * 3];
+      voxelOf = new int[capacity];
+    }
+  }
+
+  private void ensureVoxelCapacity(int count) {
+    if (counts.length < count) {
+      int capacity = Math.max(count, Math.max(16, counts.length * 2));
+      counts = Arrays.copyOf(counts, capacity);
+      sums = Arrays.copyOf(sums, capacity * 3);
+      squares = Arrays.copyOf(squares, capacity * 3);
+      emitted = Arrays.copyOf(emitted, capacity);
+    }
+  }
+
+  /**
+   * Receives the output of {@link #cluster}.
+   */
+  public interface Sink {
+    /** A particle sent on its own, at world position (x, y, z). */
+    void single(ParticleVertex vertex, double x, double y, double z);
+
+    /** {@code count} particles of a type spread around (x, y, z) by (spreadX, spreadY, spreadZ). */
+    void cluster(ParticleType particleType, double x, double y, double z,
+                 double spreadX, double spreadY, double spreadZ, int count);
+  }
+}
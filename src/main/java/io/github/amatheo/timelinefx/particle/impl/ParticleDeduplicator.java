@@ -0,0 +1,67 @@
+package io.github.amatheo.timelinefx.particle.impl;
+
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import io.github.amatheo.timelinefx.particle.ParticleVertex;
+import org.joml.Vector3d;
+
+/**
+ * Drops particles that land in the same grid cell as an earlier particle of the same type.
+ * <p>
+ * Positions are quantized to cubes of {@link #cellSize()}, and the cells seen so far are kept in an
+ * open-addressing hash table of primitive arrays, reused from one call to the next. Particles with a
+ * velocity or particle data are always kept, since they are not interchangeable.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class ParticleDeduplicator {
+  private final double cellSize;
+  private final double inverseCellSize;
+  private final CellIndex seen = new CellIndex();
+
+  public ParticleDeduplicator(double cellSize) {
+    if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+      throw new IllegalArgumentException("cellSize must be a finite value > 0");
+    }
+    this.cellSize = cellSize;
+    this.inverseCellSize = 1.0 / cellSize;
+  }
+
+  public double cellSize() {
+    return cellSize;
+  }
+
+  /**
+   * Replaces the content of {@code target} with the particles of {@code source}, without the
+   * duplicates.
+   *
+   * @return the number of particles dropped
+   */
+  public int copyUnique(ParticleBuffer source, PooledParticleBuffer target) {
+    target.clear();
+    int size = source.size();
+    target.ensureCapacity(size);
+    seen.reset(size);
+    for (int i = 0; i < size; i++) {
+      ParticleVertex from = source.vertex(i);
+      if (from.getVel() == null && from.getParticleData() == null && !firstInCell(from)) {
+        continue;
+      }
+      ParticleVertex to = target.getNext();
+      to.getPos().set(from.getPos());
+      to.setParticleType(from.getParticleType());
+      to.setVel(from.getVel());
+      to.setParticleData(from.getParticleData());
+    }
+    return size - target.size();
+  }
+
+  private boolean firstInCell(ParticleVertex vertex) {
+    Vector3d pos = vertex.getPos();
+    int before = seen.size();
+    seen.indexOf(Math.round(pos.x * inverseCellSize), Math.round(pos.y * inverseCellSize),
+        Math.round(pos.z * inverseCellSize), vertex.getParticleType());
+    return seen.size() > before;
+  }
+}
@@ -12,6 +12,7 @@ import java.util.List;
 public final class PooledParticleBuffer implements ParticleBuffer {
   private final ArrayList<ParticleVertex> pool;
   private int activeParticles = 0;
+  private int modCount = 0;
 
   public PooledParticleBuffer(int initialCapacity){
     this.pool = new ArrayList<>(Math.max(16, initialCapacity));
@@ -23,6 +24,7 @@ public final class PooledParticleBuffer implements ParticleBuffer {
 
   @Override public void clear(){
     activeParticles = 0;
+    modCount++;
   }
 
   @Override
@@ -49,6 +51,7 @@ public final class PooledParticleBuffer implements ParticleBuffer {
    * @return A reusable ParticleVertex from the pool
    */
   public ParticleVertex getNext() {
+    modCount++;
     if (activeParticles >= pool.size()) {
       // Expand the pool if necessary
       pool.add(new ParticleVertex());
@@ -56,6 +59,14 @@ public final class PooledParticleBuffer implements ParticleBuffer {
     return pool.get(activeParticles++);
   }
 
+  /**
+   * Number of structural writes (clears and additions) so far; lets owners tell whether a producer
+   * wrote anything since they last looked.
+   */
+  public int modCount() {
+    return modCount;
+  }
+
   @Override
   public int size(){
     return activeParticles;
@@ -65,6 +76,29 @@ public final class PooledParticleBuffer implements ParticleBuffer {
     return Collections.unmodifiableList(pool.subList(0, activeParticles));
   }
 
+  @Override
+  public ParticleVertex vertex(int index) {
+    if (index < 0 || index >= activeParticles) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return pool.get(index);
+  }
+
+  @Override
+  public void copyFrom(ParticleBuffer source) {
+    clear();
+    int size = source.size();
+    ensureCapacity(size);
+    for (int i = 0; i < size; i++) {
+      ParticleVertex from = source.vertex(i);
+      ParticleVertex to = getNext();
+      to.getPos().set(from.getPos());
+      to.setParticleType(from.getParticleType());
+      to.setVel(from.getVel());
+      to.setParticleData(from.getParticleData());
+    }
+  }
+
   @Override
   public void ensureCapacity(int minCapacity) {
     while (pool.size() < minCapacity) {
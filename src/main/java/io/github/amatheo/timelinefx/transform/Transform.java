@@ -19,20 +19,49 @@ public record Transform(Vector3d position, Quaterniond rotation, Vector3d scale)
    * @return The resulting world transform of the child.
    */
   public static Transform compose(Transform parent, Transform child) {
-    // 1. Scale: The scales are multiplied component-wise.
-    Vector3d finalScale = new Vector3d(parent.scale).mul(child.scale);
+    return compose(parent, child, new Transform(new Vector3d(), new Quaterniond(), new Vector3d()));
+  }
 
-    // 2. Rotation: The rotations are composed. The child's rotation is applied relative to the parent's.
-    Quaterniond finalRotation = new Quaterniond(parent.rotation).mul(child.rotation);
+  /**
+   * Same as {@link #compose(Transform, Transform)}, but writes the result into the vectors of
+   * {@code out} instead of allocating. {@code out} may be {@code parent} or {@code child}.
+   *
+   * @return {@code out}
+   */
+  public static Transform compose(Transform parent, Transform child, Transform out) {
+    // Read everything the later steps need before out, which may alias an input, is written
+    double parentX = parent.position.x, parentY = parent.position.y, parentZ = parent.position.z;
+    double scaleX = parent.scale.x * child.scale.x;
+    double scaleY = parent.scale.y * child.scale.y;
+    double scaleZ = parent.scale.z * child.scale.z;
 
-    // 3. Position: The child's position is scaled by the parent's scale,
+    // 1. Position: The child's position is scaled by the parent's scale,
     // then rotated by the parent's rotation, and finally added to the parent's position.
-    Vector3d finalPosition = new Vector3d();
-    child.position.mul(parent.scale, finalPosition); // Scale child position
-    parent.rotation.transform(finalPosition);       // Rotate child position
-    finalPosition.add(parent.position);             // Translate to parent's world position
+    parent.rotation.transform(
+        child.position.x * parent.scale.x,
+        child.position.y * parent.scale.y,
+        child.position.z * parent.scale.z,
+        out.position);
+    out.position.add(parentX, parentY, parentZ);
+
+    // 2. Rotation: The rotations are composed. The child's rotation is applied relative to the parent's.
+    parent.rotation.mul(child.rotation, out.rotation);
+
+    // 3. Scale: The scales are multiplied component-wise.
+    out.scale.set(scaleX, scaleY, scaleZ);
+    return out;
+  }
 
-    return new Transform(finalPosition, finalRotation, finalScale);
+  /**
+   * Copies the position, rotation and scale of {@code other} into this transform's vectors.
+   *
+   * @return this transform
+   */
+  public Transform set(Transform other) {
+    position.set(other.position);
+    rotation.set(other.rotation);
+    scale.set(other.scale);
+    return this;
   }
 
   /**
@@ -0,0 +1,117 @@
+package io.github.amatheo.timelinefx.transform;
+
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4x3d;
+
+/**
+ * Node of a transform hierarchy that caches its world transform.
+ * <p>
+ * Each node holds a local {@link Transform} relative to its parent. The world transform, composed
+ * with {@link Transform#compose(Transform, Transform, Transform)}, and the matching world matrix are
+ * recomputed lazily, and only when the local transform of the node or of one of its ancestors has
+ * actually changed since the last read. Change propagation is version based: a node remembers which
+ * version of its parent's world it was composed against, so no child list is needed.
+ * </p>
+ * <p>
+ * Nodes are not thread-safe; a hierarchy is meant to be updated and read by one thread per tick.
+ * </p>
+ */
+public final class TransformNode {
+  @Nullable
+  private final TransformNode parent;
+  private final Transform local = Transform.identity();
+  private final Transform world = Transform.identity();
+  private final Matrix4x3d worldMatrix = new Matrix4x3d();
+
+  private boolean localDirty = true;
+  private long worldVersion;
+  private long parentVersionSeen = -1L;
+
+  private TransformNode(@Nullable TransformNode parent) {
+    this.parent = parent;
+  }
+
+  public static TransformNode root() {
+    return new TransformNode(null);
+  }
+
+  /**
+   * Creates a node whose local transform is expressed in this node's space.
+   */
+  public TransformNode createChild() {
+    return new TransformNode(this);
+  }
+
+  @Nullable
+  public TransformNode parent() {
+    return parent;
+  }
+
+  /**
+   * Copies {@code transform} into the local transform of this node.
+   *
+   * @return true if the local transform changed
+   */
+  public boolean setLocal(Transform transform) {
+    if (transform.position().equals(local.position())
+        && transform.rotation().equals(local.rotation())
+        && transform.scale().equals(local.scale())) {
+      return false;
+    }
+    local.set(transform);
+    localDirty = true;
+    return true;
+  }
+
+  /**
+   * Returns the local transform. Use {@link #setLocal} to change it, so that the change is tracked.
+   */
+  public Transform local() {
+    return local;
+  }
+
+  /**
+   * Returns the cached world transform, recomputing it first if needed. The instance is owned by the
+   * node and updated in place; it must not be modified.
+   */
+  public Transform worldTransform() {
+    update();
+    return world;
+  }
+
+  /**
+   * Returns the world matrix matching {@link #worldTransform()} (scale, then rotation, then
+   * translation). The instance is owned by the node and updated in place; it must not be modified.
+   */
+  public Matrix4x3d worldMatrix() {
+    update();
+    return worldMatrix;
+  }
+
+  /**
+   * Incremented every time the world transform is recomputed.
+   */
+  public long worldVersion() {
+    update();
+    return worldVersion;
+  }
+
+  private void update() {
+    long parentVersion = -1L;
+    if (parent != null) {
+      parentVersion = parent.worldVersion();
+    }
+    if (!localDirty && parentVersion == parentVersionSeen) {
+      return;
+    }
+    if (parent != null) {
+      Transform.compose(parent.world, local, world);
+    } else {
+      world.set(local);
+    }
+    worldMatrix.translationRotateScale(world.position(), world.rotation(), world.scale());
+    localDirty = false;
+    parentVersionSeen = parentVersion;
+    worldVersion++;
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.amatheo.timelinefx.animation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class BezierCurveTest {
+  @Test
+  void tableLookupMatchesExactSolution() {
+    double[][] controlPoints = {
+        {0.25, 0.1, 0.25, 1.0},   // CSS "ease"
+        {0.42, 0.0, 0.58, 1.0},   // CSS "ease-in-out"
+        {0.0, 0.0, 1.0, 1.0},     // flat slopes at both ends
+        {0.68, -0.55, 0.27, 1.55} // overshooting y
+    };
+    for (double[] p : controlPoints) {
+      BezierCurve curve = new BezierCurve(p[0], p[1], p[2], p[3]);
+      for (int i = 0; i <= 1000; i++) {
+        double x = i / 1000.0;
+        assertEquals(exact(p, x), curve.map(x), 1e-6);
+      }
+    }
+  }
+
+  @Test
+  void identicalControlPointsShareOneTable() {
+    BezierCurve first = new BezierCurve(0.11, 0.22, 0.33, 0.44);
+    int before = BezierCurve.internedTableCount();
+    BezierCurve second = new BezierCurve(0.11, 0.22, 0.33, 0.44);
+    assertSame(first.table(), second.table());
+    assertEquals(before, BezierCurve.internedTableCount());
+    assertNotSame(first.table(), new BezierCurve(0.11, 0.22, 0.33, 0.45).table());
+    // Control points are clamped before interning
+    assertSame(new BezierCurve(0.0, 0.5, 1.0, 0.5).table(), new BezierCurve(-1.0, 0.5, 2.0, 0.5).table());
+  }
+
+  private static double exact(double[] p, double x) {
+    double lo = 0.0;
+    double hi = 1.0;
+    for (int i = 0; i < 100; i++) {
+      double mid = (lo + hi) * 0.5;
+      if (bezier(mid, p[0], p[2]) < x) lo = mid; else hi = mid;
+    }
+    return bezier((lo + hi) * 0.5, p[1], p[3]);
+  }
+
+  private static double bezier(double t, double c1, double c2) {
+    double mt = 1.0 - t;
+    return 3.0 * c1 * mt * mt * t + 3.0 * c2 * mt * t * t + t * t * t;
+  }
+}
@@ -2,6 +2,7 @@ package io.github.amatheo.timelinefx.animation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import io.github.amatheo.timelinefx.animation.interpolator.DoubleKeyframeInterpolator;
 import org.junit.jupiter.api.Test;
 
 class PropertyChannelDoubleTest {
@@ -30,4 +31,35 @@ class PropertyChannelDoubleTest {
 
     assertEquals(0.75, channel.get(0L, 0.5), 1e-6);
   }
+
+  @Test
+  void compiledSegmentsMatchDirectInterpolation() {
+    var channel = ChannelBuilder.doubles()
+        .keyframe(0.0, k -> {
+          k.value(1.0);
+          k.outTangent(-3.0);
+        })
+        .keyframe(0.5, k -> k.value(4.0))
+        .keyframe(2.0, k -> {
+          k.value(-2.0);
+          k.inTangent(1.5);
+        })
+        .keyframe(3.0, k -> k.value(0.5))
+        .build();
+
+    var keyframes = channel.keyframes();
+    var interpolator = DoubleKeyframeInterpolator.instance();
+    for (int i = 0; i <= 300; i++) {
+      double t = i / 100.0;
+      int segment = 0;
+      while (segment < keyframes.size() - 2 && t > keyframes.get(segment + 1).time()) {
+        segment++;
+      }
+      Keyframe<Double> from = keyframes.get(segment);
+      Keyframe<Double> to = keyframes.get(segment + 1);
+      double duration = to.time() - from.time();
+      double expected = interpolator.interpolate(from, to, (t - from.time()) / duration, duration);
+      assertEquals(expected, channel.get(0L, t), 1e-9);
+    }
+  }
 }
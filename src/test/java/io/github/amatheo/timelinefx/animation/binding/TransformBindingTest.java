@@ -0,0 +1,88 @@
+package io.github.amatheo.timelinefx.animation.binding;
+
+import io.github.amatheo.timelinefx.animation.Keyframe;
+import io.github.amatheo.timelinefx.animation.timeline.Timeline;
+import io.github.amatheo.timelinefx.animation.timeline.TimelineProperty;
+import io.github.amatheo.timelinefx.animation.timeline.TimelineSnapshot;
+import io.github.amatheo.timelinefx.transform.Transform;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransformBindingTest {
+
+  @Test
+  void componentOverridesApplyAfterTheirVector() {
+    TimelineProperty<Double> x = TimelineProperty.of("x");
+    Timeline timeline = Timeline.builder()
+        .doubles(x, track -> track.segment(0.0, channel -> {
+          channel.add(Keyframe.of(0.0, 0.0));
+          channel.add(Keyframe.of(1.0, 10.0));
+        }))
+        .build();
+    TimelineBindings bindings = TimelineBindings.builder()
+        .setPosition(new Vector3d(1, 2, 3))
+        .bindPositionX(x)
+        .setScale(new Vector3d(2, 3, 4))
+        .setUniformScale(5.0)
+        .build();
+
+    MutableBindingState state = bindings.newState();
+    Transform transform = bindings.evaluateInto(timeline.get(0L, 0.5), state).result().transform();
+    assertVector(5, 2, 3, transform.position());
+    assertVector(5, 5, 5, transform.scale());
+
+    // The same program rewrites the same state on the next evaluation
+    bindings.evaluateInto(timeline.get(1L, 1.0), state);
+    assertVector(10, 2, 3, transform.position());
+  }
+
+  @Test
+  void eulerRotationIsAppliedInYxzOrder() {
+    TimelineBindings bindings = TimelineBindings.builder()
+        .setRotationEuler(new Vector3d(0.3, 1.1, -0.7))
+        .build();
+
+    Transform transform = bindings.evaluate(emptySnapshot()).transform();
+    assertRotation(new Quaterniond().rotateY(1.1).rotateX(0.3).rotateZ(-0.7), transform.rotation());
+  }
+
+  @Test
+  void axisAngleRotationsComposeAfterTheQuaternion() {
+    Quaterniond base = new Quaterniond().rotateX(0.4);
+    TimelineBindings bindings = TimelineBindings.builder()
+        .setRotation(base)
+        .rotateAxisAngle(new Vector3d(0, 2, 0), 0.9)
+        .rotateAxisAngle(new Vector3d(0, 0, 0), 1.5)
+        .build();
+
+    Transform transform = bindings.evaluate(emptySnapshot()).transform();
+    Quaterniond expected = new Quaterniond(base).mul(new Quaterniond().rotateY(0.9));
+    assertRotation(expected, transform.rotation());
+  }
+
+  private static TimelineSnapshot emptySnapshot() {
+    TimelineProperty<Double> unused = TimelineProperty.of("unused");
+    return Timeline.builder()
+        .doubles(unused, track -> track.segment(0.0, channel -> channel.add(Keyframe.of(0.0, 0.0))))
+        .build()
+        .get(0L, 0.0);
+  }
+
+  private static void assertVector(double x, double y, double z, Vector3d actual) {
+    assertEquals(x, actual.x, 1e-9);
+    assertEquals(y, actual.y, 1e-9);
+    assertEquals(z, actual.z, 1e-9);
+  }
+
+  private static void assertRotation(Quaterniond expected, Quaterniond actual) {
+    // q and -q are the same rotation
+    double sign = Math.signum(expected.dot(actual));
+    assertEquals(expected.x, sign * actual.x, 1e-9);
+    assertEquals(expected.y, sign * actual.y, 1e-9);
+    assertEquals(expected.z, sign * actual.z, 1e-9);
+    assertEquals(expected.w, sign * actual.w, 1e-9);
+  }
+}
@@ -0,0 +1,65 @@
+package io.github.amatheo.timelinefx.animation.timeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.github.amatheo.timelinefx.animation.Keyframe;
+import org.junit.jupiter.api.Test;
+
+class TimelineSampleCacheTest {
+  private static final TimelineProperty<Double> RADIUS = TimelineProperty.of("radius");
+
+  private static Timeline radiusTimeline() {
+    return Timeline.builder()
+        .doubles(RADIUS, track ->
+            track.segment(0.0, channel -> {
+              channel.add(Keyframe.of(0.0, 0.0));
+              channel.add(Keyframe.of(2.0, 4.0));
+            })
+        )
+        .build();
+  }
+
+  @Test
+  void playbacksOnTheSameTimelineShareOneSnapshotPerTick() {
+    Timeline timeline = radiusTimeline();
+    TimelineSampleCache cache = new TimelineSampleCache();
+    TimelinePlayback first = TimelinePlayback.builder(timeline).build();
+    TimelinePlayback second = TimelinePlayback.builder(timeline).build();
+    first.start(0L);
+    second.start(0L);
+
+    cache.beginTick(10L);
+    TimelineSnapshot a = first.sample(10L, 0.05, cache);
+    TimelineSnapshot b = second.sample(10L, 0.05, cache);
+
+    assertSame(a, b);
+    assertEquals(1.0, a.get(RADIUS), 1e-9);
+    assertEquals(1L, cache.stats().hits());
+    assertEquals(1L, cache.stats().misses());
+  }
+
+  @Test
+  void differentTimesAndTicksAreNotShared() {
+    Timeline timeline = radiusTimeline();
+    TimelineSampleCache cache = new TimelineSampleCache();
+    TimelinePlayback early = TimelinePlayback.builder(timeline).build();
+    TimelinePlayback late = TimelinePlayback.builder(timeline).build();
+    early.start(0L);
+    late.start(5L);
+
+    cache.beginTick(10L);
+    TimelineSnapshot a = early.sample(10L, 0.05, cache);
+    TimelineSnapshot b = late.sample(10L, 0.05, cache);
+    assertNotSame(a, b);
+    assertEquals(0.5, b.get(RADIUS), 1e-9);
+
+    cache.beginTick(11L);
+    assertEquals(0, cache.stats().entries());
+    TimelineSnapshot c = early.sample(11L, 0.05, cache);
+    assertEquals(1.1, c.get(RADIUS), 1e-9);
+    assertEquals(0L, cache.stats().hits());
+    assertEquals(3L, cache.stats().misses());
+  }
+}
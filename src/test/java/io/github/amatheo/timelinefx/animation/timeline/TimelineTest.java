@@ -2,12 +2,20 @@ package io.github.amatheo.timelinefx.animation.timeline;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.github.amatheo.timelinefx.animation.Easing;
 import io.github.amatheo.timelinefx.animation.Keyframe;
+import io.github.amatheo.timelinefx.animation.interpolator.TransformProviderInterpolator;
+import io.github.amatheo.timelinefx.animation.target.TransformProvider;
+import io.github.amatheo.timelinefx.transform.Transform;
+import org.joml.Vector3d;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 class TimelineTest {
   @Test
   void builderCreatesMultipleTracksAndSamplesValues() {
@@ -115,4 +123,149 @@ class TimelineTest {
     TimelineSnapshot afterTransition = timeline.get(0L, 3.0);
     assertEquals("smoke", afterTransition.get(particle));
   }
+
+  @Test
+  void sampleIntoReusesVectorStorage() {
+    TimelineProperty<Vector3d> offset = TimelineProperty.of("offset");
+    Timeline timeline = Timeline.builder()
+        .vector3d(offset, track ->
+            track.segment(0.0, channel -> {
+              channel.add(Keyframe.of(0.0, new Vector3d(0, 0, 0)));
+              channel.add(Keyframe.of(2.0, new Vector3d(2, 4, 6)));
+            })
+        )
+        .build();
+
+    TimelineSnapshot snapshot = timeline.newSnapshot();
+    Vector3d first = timeline.sampleInto(0L, 0.5, snapshot).get(offset);
+    assertEquals(1.0, first.y, 1e-9);
+
+    Vector3d second = timeline.sampleInto(0L, 1.5, snapshot).get(offset);
+    assertSame(first, second);
+    assertEquals(new Vector3d(1.5, 3.0, 4.5), second);
+
+    // Independent snapshots are not affected by in-place sampling
+    assertEquals(2.0, timeline.get(0L, 1.0).get(offset).y, 1e-9);
+    assertEquals(3.0, second.y, 1e-9);
+  }
+
+  @Test
+  void holdRegionsAndFlatSegmentsAreStatic() {
+    TimelineProperty<Double> radius = TimelineProperty.of("radius");
+    TimelineProperty<Double> points = TimelineProperty.of("points");
+    Timeline timeline = Timeline.builder()
+        .doubles(radius, track ->
+            track.segment(0.0, channel -> {
+              channel.add(Keyframe.of(0.0, 0.0));
+              channel.add(Keyframe.of(1.0, 2.0));
+              channel.add(Keyframe.of(3.0, 2.0));
+            })
+        )
+        .doubles(points, track ->
+            track.segment(0.0, channel -> channel.add(Keyframe.of(0.0, 12.0)))
+        )
+        .build();
+
+    assertTrue(timeline.track(points).isConstant());
+    assertFalse(timeline.isConstant());
+    assertEquals(-1, timeline.staticIntervalAt(0.5));
+    assertEquals(timeline.staticIntervalAt(-4.0), timeline.staticIntervalAt(0.0));
+    assertEquals(timeline.staticIntervalAt(1.5), timeline.staticIntervalAt(10.0));
+
+    TimelinePlayback playback = TimelinePlayback.builder(timeline).build();
+    playback.start(0L);
+    TimelineSnapshot moving = playback.sample(10L, 0.05);
+    assertFalse(playback.isUnchanged());
+    assertEquals(1.0, moving.get(radius), 1e-9);
+
+    TimelineSnapshot held = playback.sample(30L, 0.05);
+    assertFalse(playback.isUnchanged());
+    assertSame(held, playback.sample(40L, 0.05));
+    assertTrue(playback.isUnchanged());
+    assertEquals(2.0, held.get(radius), 1e-9);
+    assertEquals(12.0, held.get(points), 1e-9);
+  }
+
+  @Test
+  void valueVersionsOnlyChangeOutsideStaticIntervals() {
+    TimelineProperty<Double> radius = TimelineProperty.of("radius");
+    TimelineProperty<Double> points = TimelineProperty.of("points");
+    Timeline timeline = Timeline.builder()
+        .doubles(radius, track ->
+            track.segment(0.0, channel -> {
+              channel.add(Keyframe.of(0.0, 0.0));
+              channel.add(Keyframe.of(1.0, 2.0));
+            })
+        )
+        .doubles(points, track ->
+            track.segment(0.0, channel -> channel.add(Keyframe.of(0.0, 12.0)))
+        )
+        .build();
+
+    TimelineSnapshot snapshot = timeline.newSnapshot();
+    timeline.sampleInto(0L, 0.25, snapshot);
+    long radiusVersion = snapshot.version(radius);
+    long pointsVersion = snapshot.version(points);
+
+    timeline.sampleInto(1L, 0.5, snapshot);
+    assertTrue(snapshot.version(radius) != radiusVersion, "A moving value should get a new version");
+    assertEquals(pointsVersion, snapshot.version(points), "A constant value should keep its version");
+
+    timeline.sampleInto(2L, 1.5, snapshot);
+    radiusVersion = snapshot.version(radius);
+    timeline.sampleInto(3L, 4.0, snapshot);
+    assertEquals(radiusVersion, snapshot.version(radius), "A held value should keep its version");
+    assertEquals(pointsVersion, snapshot.version(points));
+  }
+
+  @Test
+  void snapshotsNeverShareVersions() {
+    TimelineProperty<Double> radius = TimelineProperty.of("radius");
+    Timeline timeline = Timeline.builder()
+        .doubles(radius, track ->
+            track.segment(0.0, channel -> {
+              channel.add(Keyframe.of(0.0, 0.0));
+              channel.add(Keyframe.of(1.0, 2.0));
+            })
+        )
+        .build();
+
+    TimelineSnapshot first = timeline.newSnapshot();
+    TimelineSnapshot second = timeline.newSnapshot();
+    Set<Long> seen = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      timeline.sampleInto(i, i * 0.05, first);
+      timeline.sampleInto(i, i * 0.05, second);
+      assertTrue(seen.add(first.version(radius)), "Stamps should be unique across snapshots");
+      assertTrue(seen.add(second.version(radius)), "Stamps should be unique across snapshots");
+    }
+  }
+
+  @Test
+  void transformProviderTransitionsReuseTheirStorage() {
+    Transform start = Transform.identity();
+    Transform end = Transform.identity();
+    end.position().set(10.0, 0.0, 0.0);
+    TransformProvider from = () -> start;
+    TransformProvider to = () -> end;
+    TransformProviderInterpolator interpolator = TransformProviderInterpolator.instance();
+    TransformProvider storage = interpolator.createStorage();
+
+    TransformProvider first = interpolator.interpolateInto(Keyframe.of(0.0, from), Keyframe.of(1.0, to), 0.25, 1.0, storage);
+    assertSame(storage, first);
+    Transform out = Transform.identity();
+    assertSame(out, first.getTransformInto(out));
+    assertEquals(2.5, out.position().x, 1e-9);
+
+    TransformProvider second = interpolator.interpolateInto(Keyframe.of(0.0, from), Keyframe.of(1.0, to), 0.5, 1.0, storage);
+    assertSame(storage, second);
+    assertEquals(5.0, second.getTransformInto(out).position().x, 1e-9);
+    assertEquals(0.0, start.position().x, 1e-9, "Endpoints are read, never written");
+
+    TransformProvider gone = () -> null;
+    Transform snapped = interpolator.interpolateInto(Keyframe.of(0.0, gone), Keyframe.of(1.0, to), 0.5, 1.0, storage)
+        .getTransformInto(out);
+    assertSame(out, snapped, "Snapping to one endpoint copies it instead of exposing scratch storage");
+    assertEquals(10.0, snapped.position().x, 1e-9);
+  }
 }
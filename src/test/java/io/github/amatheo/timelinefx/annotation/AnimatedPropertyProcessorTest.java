@@ -27,7 +27,7 @@ class AnimatedPropertyProcessorTest {
         // Create a temporary Java source file with a final field annotated with @AnimatedProperty
         String sourceCode = """
             package test;
-            import com.github.amatheo.timelinefx.annotation.AnimatedProperty;
+            import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
             
             public class TestEffect {
                 @AnimatedProperty
@@ -54,7 +54,7 @@ class AnimatedPropertyProcessorTest {
         // Set up compiler options - include the processor on the classpath
         List<String> options = Arrays.asList(
             "-proc:only",  // Only run annotation processing
-            "-processor", "com.github.amatheo.timelinefx.annotation.AnimatedPropertyProcessor",
+            "-processor", "io.github.amatheo.timelinefx.annotation.AnimatedPropertyProcessor",
             "-classpath", System.getProperty("java.class.path")
         );
 
@@ -103,7 +103,7 @@ class AnimatedPropertyProcessorTest {
         // Create a temporary Java source file with a non-final field annotated with @AnimatedProperty
         String sourceCode = """
             package test;
-            import com.github.amatheo.timelinefx.annotation.AnimatedProperty;
+            import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
             
             public class TestEffect {
                 @AnimatedProperty
@@ -130,7 +130,7 @@ class AnimatedPropertyProcessorTest {
         // Set up compiler options - include the processor on the classpath
         List<String> options = Arrays.asList(
             "-proc:only",  // Only run annotation processing
-            "-processor", "com.github.amatheo.timelinefx.annotation.AnimatedPropertyProcessor",
+            "-processor", "io.github.amatheo.timelinefx.annotation.AnimatedPropertyProcessor",
             "-classpath", System.getProperty("java.class.path")
         );
 
@@ -168,4 +168,67 @@ class AnimatedPropertyProcessorTest {
         Files.deleteIfExists(sourceFile);
         Files.deleteIfExists(tempDir);
     }
+
+    /**
+     * Test that the processor generates a direct accessor for the non-private fields of an effect,
+     * and that the generated source compiles.
+     */
+    @Test
+    void processorGeneratesAccessorForNonPrivateFields() throws IOException {
+        String sourceCode = """
+            package test;
+            import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
+
+            public class TestEffect {
+                @AnimatedProperty
+                double radius;
+
+                @AnimatedProperty(name = "label")
+                protected String name;
+
+                @AnimatedProperty
+                private int hidden;
+            }
+            """;
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "Java compiler must be available");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+
+        Path tempDir = Files.createTempDirectory("annotation-processor-test");
+        Path sourceFile = tempDir.resolve("TestEffect.java");
+        Files.writeString(sourceFile, sourceCode);
+
+        Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjects(sourceFile.toFile());
+
+        // Compile fully, so that the generated accessor is compiled as well
+        List<String> options = Arrays.asList(
+            "-proc:full",
+            "-processor", "io.github.amatheo.timelinefx.annotation.AnimatedPropertyProcessor",
+            "-classpath", System.getProperty("java.class.path"),
+            "-d", tempDir.toString(),
+            "-s", tempDir.toString()
+        );
+
+        Boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits).call();
+        assertTrue(success, "Compilation should succeed: " + diagnostics.getDiagnostics());
+
+        Path accessor = tempDir.resolve("test").resolve("TestEffect$$PropertyAccessor.java");
+        assertTrue(Files.exists(accessor), "Accessor source should be generated");
+        String generated = Files.readString(accessor);
+        assertTrue(generated.contains("{\"radius\", \"name\"}"), "Accessor should list the non-private fields");
+        assertFalse(generated.contains("hidden"), "Private fields should be left to reflection");
+        assertTrue(Files.exists(tempDir.resolve("test").resolve("TestEffect$$PropertyAccessor.class")),
+            "Generated accessor should compile");
+
+        // Clean up
+        fileManager.close();
+        try (var paths = Files.walk(tempDir)) {
+            for (Path path : paths.sorted(java.util.Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
 }
@@ -0,0 +1,201 @@
+package io.github.amatheo.timelinefx.core;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.animation.Keyframe;
+import io.github.amatheo.timelinefx.animation.timeline.Timeline;
+import io.github.amatheo.timelinefx.animation.timeline.TimelineProperty;
+import io.github.amatheo.timelinefx.effect.Effect;
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import io.github.amatheo.timelinefx.particle.ParticleVertex;
+import io.github.amatheo.timelinefx.transform.Transform;
+import org.bukkit.entity.Player;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EffectClipTest {
+  private static final ParticleType TYPE = new ParticleType() {};
+
+  @Test
+  void movingParticlesAreOnlySentEveryMotionInterval() {
+    RecordingRenderer renderer = new RecordingRenderer();
+    EffectClip clip = EffectClip.builder()
+        .timeline(timeline())
+        .layer(layer -> layer.effect(movingAndStill()).motionInterval(3))
+        .build();
+    PlaybackContext ctx = context(renderer, null);
+    clip.start(ctx, 0L);
+
+    for (long tick = 0; tick <= 6; tick++) {
+      clip.tick(new FrameContext(ctx, tick));
+    }
+    assertEquals(7, renderer.frames.size());
+    for (int tick = 1; tick <= 6; tick++) {
+      Frame frame = renderer.frames.get(tick);
+      assertEquals(1, frame.still(), "Still particles are sent every tick");
+      assertEquals(tick % 3 == 0 ? 1 : 0, frame.moving(), "Moving particles are sent every 3 ticks");
+    }
+  }
+
+  @Test
+  void inlineLayersSendThePreviousFrameWhileTicking() {
+    RecordingRenderer renderer = new RecordingRenderer();
+    EffectClip clip = EffectClip.builder()
+        .timeline(timeline())
+        .layer(layer -> layer.effect(movingAndStill()))
+        .build();
+    PlaybackContext ctx = context(renderer, null);
+    clip.start(ctx, 0L);
+
+    clip.tick(new FrameContext(ctx, 0L));
+    assertEquals(0, renderer.frames.get(0).still(), "Nothing was sampled before the first tick");
+    for (long tick = 1; tick <= 4; tick++) {
+      clip.tick(new FrameContext(ctx, tick));
+      assertEquals(tick + 1, renderer.frames.size());
+      assertEquals(tick - 1, renderer.frames.get((int) tick).sampledTick());
+    }
+  }
+
+  @Test
+  void pipelinedLayersSendTheFrameJustSampledAfterTheFlush() {
+    RecordingRenderer renderer = new RecordingRenderer();
+    EffectClip clip = EffectClip.builder()
+        .timeline(timeline())
+        .layer(layer -> layer.effect(movingAndStill()))
+        .build();
+    RenderPipeline pipeline = new RenderPipeline(RenderPipelineTest.plugin());
+    try {
+      PlaybackContext ctx = context(renderer, pipeline);
+      clip.start(ctx, 0L);
+
+      for (long tick = 0; tick <= 4; tick++) {
+        clip.tick(new FrameContext(ctx, tick));
+        pipeline.awaitIdle();
+        assertEquals(tick, renderer.frames.size(), "Nothing is sent before the tick is flushed");
+        // The render thread sends it while the next tick is sampled
+        pipeline.flush();
+        pipeline.awaitIdle();
+        assertEquals(tick + 1, renderer.frames.size());
+        assertEquals(tick, renderer.frames.get((int) tick).sampledTick());
+      }
+    } finally {
+      pipeline.close();
+    }
+  }
+
+  @Test
+  void seededClipsEmitTheSameParticlesOnEveryStart() {
+    Random engineRng = new Random(1);
+    RecordingRenderer renderer = new RecordingRenderer();
+    PlaybackContext ctx = new PlaybackContext(null, 0L, () -> 0L, 0.05, renderer, engineRng, null, 0.0, null);
+    EffectClip clip = EffectClip.builder()
+        .timeline(timeline())
+        .layer(layer -> layer.effect(scattered()))
+        .layer(layer -> layer.effect(scattered()))
+        .seed(7L)
+        .build();
+    // An unseeded clip sharing the engine's random stream
+    PlaybackContext otherCtx = new PlaybackContext(null, 0L, () -> 0L, 0.05, new RecordingRenderer(), engineRng,
+        null, 0.0, null);
+    EffectClip other = EffectClip.builder()
+        .timeline(timeline())
+        .layer(layer -> layer.effect(scattered()))
+        .build();
+
+    List<List<Vector3d>> alone = play(clip, ctx, renderer, null, null);
+    assertEquals(alone, play(clip, ctx, renderer, null, null), "A restart should replay the same particles");
+    assertEquals(alone, play(clip, ctx, renderer, other, otherCtx), "Other clips ticking first should not matter");
+    other.start(otherCtx, 0L);
+    for (long tick = 0; tick < 3; tick++) {
+      other.tick(new FrameContext(otherCtx, tick));
+    }
+    assertEquals(alone, play(clip, ctx, renderer, null, null), "Earlier draws from the engine should not matter");
+
+    EffectClip reseeded = EffectClip.builder()
+        .timeline(timeline())
+        .layer(layer -> layer.effect(scattered()))
+        .layer(layer -> layer.effect(scattered()))
+        .seed(8L)
+        .build();
+    assertNotEquals(alone, play(reseeded, ctx, renderer, null, null));
+  }
+
+  // Starts the clip and returns the positions it sends over a few ticks, ticking other before it
+  private static List<List<Vector3d>> play(EffectClip clip, PlaybackContext ctx, RecordingRenderer renderer,
+                                           EffectClip other, PlaybackContext otherCtx) {
+    renderer.positions.clear();
+    if (other != null) {
+      other.start(otherCtx, 0L);
+    }
+    clip.start(ctx, 0L);
+    for (long tick = 0; tick <= 4; tick++) {
+      if (other != null) {
+        other.tick(new FrameContext(otherCtx, tick));
+      }
+      clip.tick(new FrameContext(ctx, tick));
+    }
+    return List.copyOf(renderer.positions);
+  }
+
+  static Timeline timeline() {
+    TimelineProperty<Double> unused = TimelineProperty.of("unused");
+    return Timeline.builder()
+        .doubles(unused, track -> track.segment(0.0, channel -> {
+          channel.add(Keyframe.of(0.0, 0.0));
+          channel.add(Keyframe.of(10.0, 1.0));
+        }))
+        .build();
+  }
+
+  static PlaybackContext context(ParticleRenderer renderer, RenderPipeline pipeline) {
+    return new PlaybackContext(null, 0L, () -> 0L, 0.05, renderer, new Random(1), null, 0.0, pipeline);
+  }
+
+  // One particle moving along +Y and one still, both at x = sampled tick
+  static Effect movingAndStill() {
+    return (ctx, params, out) -> {
+      out.clear();
+      out.add(new Vector3d(ctx.tick(), 0, 0), TYPE, new Vector3d(0, 1, 0));
+      out.add(new Vector3d(ctx.tick(), 1, 0), TYPE);
+    };
+  }
+
+  // Three particles at random positions drawn from the layer's stream
+  static Effect scattered() {
+    return (ctx, params, out) -> {
+      out.clear();
+      for (int i = 0; i < 3; i++) {
+        out.add(new Vector3d(ctx.rng().nextDouble(), ctx.rng().nextDouble(), ctx.rng().nextDouble()), TYPE);
+      }
+    };
+  }
+
+  // What a render call was given
+  record Frame(int moving, int still, double sampledTick) {}
+
+  static final class RecordingRenderer implements ParticleRenderer {
+    final List<Frame> frames = new ArrayList<>();
+    final List<List<Vector3d>> positions = new ArrayList<>();
+
+    @Override
+    public void render(ParticleBuffer buffer, Transform transform, List<Player> players) {
+      int moving = 0;
+      double sampledTick = Double.NaN;
+      List<Vector3d> sent = new ArrayList<>();
+      for (ParticleVertex vertex : buffer.view()) {
+        sent.add(new Vector3d(vertex.getPos()));
+        if (vertex.getVel() != null) {
+          moving++;
+        }
+        sampledTick = vertex.getPos().x();
+      }
+      frames.add(new Frame(moving, buffer.size() - moving, sampledTick));
+      positions.add(sent);
+    }
+  }
+}
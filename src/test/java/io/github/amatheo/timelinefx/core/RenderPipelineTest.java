@@ -0,0 +1,106 @@
+package io.github.amatheo.timelinefx.core;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderPipelineTest {
+
+  @Test
+  void batchesRunInOrderOnceFlushed() {
+    List<String> ran = new CopyOnWriteArrayList<>();
+    RenderPipeline pipeline = new RenderPipeline(plugin());
+    try {
+      pipeline.submit(() -> ran.add("a1"));
+      pipeline.submit(() -> ran.add("a2"));
+      pipeline.awaitIdle();
+      assertEquals(List.of(), ran, "Tasks wait for the flush");
+
+      pipeline.flush();
+      pipeline.submit(() -> ran.add("b1"));
+      pipeline.flush();
+      pipeline.awaitIdle();
+      assertEquals(List.of("a1", "a2", "b1"), ran);
+    } finally {
+      pipeline.close();
+    }
+  }
+
+  @Test
+  void flushWaitsForTheBatchInFlight() {
+    List<String> ran = new CopyOnWriteArrayList<>();
+    RenderPipeline pipeline = new RenderPipeline(plugin());
+    try {
+      pipeline.submit(() -> {
+        sleep(50);
+        ran.add("slow");
+      });
+      pipeline.flush();
+      pipeline.submit(() -> ran.add("next"));
+      pipeline.flush();
+      assertEquals("slow", ran.get(0), "The previous batch finished before the next one was handed over");
+      pipeline.awaitIdle();
+      assertEquals(List.of("slow", "next"), ran);
+    } finally {
+      pipeline.close();
+    }
+  }
+
+  @Test
+  void aFailingTaskDoesNotStopTheBatch() {
+    List<String> ran = new CopyOnWriteArrayList<>();
+    RenderPipeline pipeline = new RenderPipeline(plugin());
+    try {
+      pipeline.submit(() -> {
+        throw new IllegalStateException("expected");
+      });
+      pipeline.submit(() -> ran.add("after"));
+      pipeline.flush();
+      pipeline.awaitIdle();
+      assertEquals(List.of("after"), ran);
+    } finally {
+      pipeline.close();
+    }
+  }
+
+  @Test
+  void closeRunsTheTasksLeft() {
+    List<String> ran = new CopyOnWriteArrayList<>();
+    RenderPipeline pipeline = new RenderPipeline(plugin());
+    pipeline.submit(() -> {
+      sleep(20);
+      ran.add("in flight");
+    });
+    pipeline.flush();
+    pipeline.submit(() -> ran.add("release"));
+
+    pipeline.close();
+    assertEquals(List.of("in flight", "release"), ran);
+    pipeline.submit(() -> ran.add("late"));
+    pipeline.flush();
+    pipeline.awaitIdle();
+    assertEquals(2, ran.size(), "Nothing runs once closed");
+  }
+
+  static Plugin plugin() {
+    Logger logger = Logger.getLogger("RenderPipelineTest");
+    logger.setLevel(Level.OFF);
+    return (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] {Plugin.class},
+        (proxy, method, args) -> method.getName().equals("getLogger") ? logger : null);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
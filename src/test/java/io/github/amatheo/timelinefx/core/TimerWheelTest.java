@@ -0,0 +1,65 @@
+package io.github.amatheo.timelinefx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+  @Test
+  void itemsExpireExactlyOnTheirDueTick() {
+    TimerWheel<String> wheel = new TimerWheel<>(8, 0L);
+    wheel.schedule("a", 3L);
+    wheel.schedule("b", 3L);
+    wheel.schedule("far", 3L + 8 * 5);
+    List<String> expired = new ArrayList<>();
+
+    wheel.advance(2L, expired::add);
+    assertTrue(expired.isEmpty());
+    wheel.advance(3L, expired::add);
+    assertEquals(List.of("a", "b"), expired, "Items due on the same tick keep their order");
+
+    wheel.advance(3L + 8 * 5 - 1, expired::add);
+    assertEquals(2, expired.size(), "An item several turns away shares its slot but waits its turn");
+    wheel.advance(3L + 8 * 5, expired::add);
+    assertEquals(List.of("a", "b", "far"), expired);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void overdueItemsExpireOnTheNextAdvance() {
+    TimerWheel<String> wheel = new TimerWheel<>(8, 0L);
+    List<String> expired = new ArrayList<>();
+    wheel.advance(10L, expired::add);
+    wheel.schedule("late", 4L);
+    wheel.schedule("later", 30L);
+
+    wheel.advance(11L, expired::add);
+    assertEquals(List.of("late"), expired);
+
+    // A jump of several turns still expires everything due, and nothing else
+    wheel.schedule("kept", 200L);
+    wheel.advance(100L, expired::add);
+    assertEquals(List.of("late", "later"), expired);
+    assertEquals(1, wheel.size());
+  }
+
+  @Test
+  void clearHandsOverEveryItem() {
+    TimerWheel<String> wheel = new TimerWheel<>(8, 0L);
+    wheel.schedule("soon", 2L);
+    wheel.schedule("far", 2L + 8 * 3);
+    wheel.schedule("other", 5L);
+    List<String> removed = new ArrayList<>();
+
+    wheel.clear(removed::add);
+    assertEquals(3, removed.size());
+    assertTrue(removed.containsAll(List.of("soon", "far", "other")));
+    assertEquals(0, wheel.size());
+    wheel.advance(100L, removed::add);
+    assertEquals(3, removed.size(), "Nothing is left to expire");
+  }
+}
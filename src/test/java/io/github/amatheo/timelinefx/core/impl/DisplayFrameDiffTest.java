@@ -0,0 +1,125 @@
+package io.github.amatheo.timelinefx.core.impl;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import io.github.amatheo.timelinefx.particle.impl.PooledParticleBuffer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.joml.Matrix4x3d;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisplayFrameDiffTest {
+  private static final ParticleType RED = new ParticleType() {};
+  private static final ParticleType BLUE = new ParticleType() {};
+  private final Matrix4x3d identity = new Matrix4x3d();
+
+  @Test
+  void onlyParticlesMovedPastTheThresholdOrRetypedAreFlagged() {
+    DisplayFrameDiff diff = new DisplayFrameDiff(0.5);
+    World world = proxy(World.class);
+    List<Player> audience = List.of(player(world));
+
+    DisplayFrameDiff.Frame first = diff.next(null, buffer(RED, 0.0, 10.0, 20.0), identity, audience);
+    assertFlags(first, true, true, true);
+    assertNull(diff.next(first, buffer(RED, 0.0, 10.0, 20.0), identity, audience), "Nothing to apply");
+
+    DisplayFrameDiff.Frame second = diff.next(first, buffer(RED, 0.3, 11.0, 20.0), identity, audience);
+    assertFlags(second, false, true, false);
+    assertEquals(0.0, second.positions()[0], "An entity left in place keeps its position");
+
+    // 0.3 + 0.3 from where the first entity actually is: slow drifts add up
+    DisplayFrameDiff.Frame third = diff.next(second, buffer(RED, 0.6, 11.0, 20.0), identity, audience);
+    assertFlags(third, true, false, false);
+    assertEquals(0.6, third.positions()[0]);
+
+    ParticleBuffer retyped = buffer(RED, 0.6, 11.0, 20.0);
+    retyped.vertex(2).setParticleType(BLUE);
+    assertFlags(diff.next(third, retyped, identity, audience), false, false, true);
+  }
+
+  @Test
+  void aNewWorldMovesEveryEntity() {
+    DisplayFrameDiff diff = new DisplayFrameDiff(0.5);
+    World overworld = proxy(World.class);
+    World nether = proxy(World.class);
+
+    DisplayFrameDiff.Frame first = diff.next(null, buffer(RED, 0.0, 1.0), identity, List.of(player(overworld)));
+    DisplayFrameDiff.Frame moved = diff.next(first, buffer(RED, 0.0, 1.0), identity, List.of(player(nether)));
+    assertSame(nether, moved.world());
+    assertFlags(moved, true, true);
+  }
+
+  @Test
+  void anEmptyAudienceOnlyHidesTheEntities() {
+    DisplayFrameDiff diff = new DisplayFrameDiff(0.5);
+    Player player = player(proxy(World.class));
+    assertNull(diff.next(null, buffer(RED, 0.0), identity, List.of()), "No entities for nobody");
+
+    DisplayFrameDiff.Frame first = diff.next(null, buffer(RED, 0.0), identity, List.of(player));
+    DisplayFrameDiff.Frame hidden = diff.next(first, buffer(RED, 5.0), identity, List.of());
+    assertEquals(List.of(), hidden.audience());
+    assertFlags(hidden, false);
+    assertEquals(0.0, hidden.positions()[0], "The entities were not moved");
+    assertNull(diff.next(hidden, buffer(RED, 9.0), identity, List.of()));
+
+    DisplayFrameDiff.Frame shown = diff.next(hidden, buffer(RED, 9.0), identity, List.of(player));
+    assertEquals(List.of(player), shown.audience());
+    assertFlags(shown, true);
+    assertEquals(9.0, shown.positions()[0]);
+  }
+
+  @Test
+  void anAudienceChangeAloneMovesNothing() {
+    DisplayFrameDiff diff = new DisplayFrameDiff(0.5);
+    World world = proxy(World.class);
+    Player a = player(world);
+    Player b = player(world);
+
+    DisplayFrameDiff.Frame first = diff.next(null, buffer(RED, 0.0), identity, List.of(a));
+    DisplayFrameDiff.Frame second = diff.next(first, buffer(RED, 0.0), identity, List.of(a, b));
+    assertEquals(List.of(a, b), second.audience());
+    assertFlags(second, false);
+  }
+
+  // One particle of the given type per x, on the x axis
+  private static ParticleBuffer buffer(ParticleType type, double... xs) {
+    ParticleBuffer buffer = new PooledParticleBuffer(xs.length);
+    for (double x : xs) {
+      buffer.add(new Vector3d(x, 0, 0), type);
+    }
+    return buffer;
+  }
+
+  private static void assertFlags(DisplayFrameDiff.Frame frame, boolean... expected) {
+    assertNotNull(frame);
+    assertEquals(expected.length, frame.size());
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], frame.changed()[i], "changed[" + i + "]");
+    }
+  }
+
+  private static Player player(World world) {
+    return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] {Player.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "getWorld" -> world;
+          case "equals" -> proxy == args[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          default -> null;
+        });
+  }
+
+  private static <T> T proxy(Class<T> type) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "equals" -> proxy == args[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          default -> null;
+        }));
+  }
+}
@@ -0,0 +1,143 @@
+package io.github.amatheo.timelinefx.core.impl;
+
+import com.github.fierioziy.particlenativeapi.api.packet.ParticlePacket;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacketDispatcherTest {
+  private final List<String> sent = new ArrayList<>();
+
+  @Test
+  void aTickOfRenderCallsIsQueuedAsOneBatch() {
+    ManualExecutor executor = new ManualExecutor();
+    PacketDispatcher dispatcher = new PacketDispatcher(1, executor);
+    Player player = player(new AtomicBoolean(true));
+
+    for (int layer = 0; layer < 20; layer++) {
+      dispatcher.dispatch(List.of(packet("layer " + layer)), List.of(player));
+    }
+    assertEquals(0, executor.tasks.size(), "Nothing is queued before the end of the tick");
+    dispatcher.endTick();
+    executor.runAll();
+    assertEquals(20, sent.size(), "Every layer of the tick fits in one batch");
+    assertEquals(0, dispatcher.droppedBatches());
+  }
+
+  @Test
+  void fullMailboxesDropTheOldestTick() {
+    ManualExecutor executor = new ManualExecutor();
+    PacketDispatcher dispatcher = new PacketDispatcher(2, executor);
+    Player player = player(new AtomicBoolean(true));
+
+    for (int tick = 0; tick < 3; tick++) {
+      dispatcher.dispatch(List.of(packet("tick " + tick + " a")), List.of(player));
+      dispatcher.dispatch(List.of(packet("tick " + tick + " b")), List.of(player));
+      dispatcher.endTick();
+    }
+    executor.runAll();
+    assertEquals(List.of("tick 1 a", "tick 1 b", "tick 2 a", "tick 2 b"), sent);
+    assertEquals(1, dispatcher.droppedBatches());
+  }
+
+  @Test
+  void mailboxesAreDiscardedOnceDrainedOrOffline() {
+    ManualExecutor executor = new ManualExecutor();
+    PacketDispatcher dispatcher = new PacketDispatcher(4, executor);
+    AtomicBoolean online = new AtomicBoolean(true);
+    Player player = player(online);
+
+    dispatcher.dispatch(List.of(packet("first")), List.of(player));
+    dispatcher.endTick();
+    assertEquals(1, dispatcher.mailboxCount());
+    executor.runAll();
+    assertEquals(0, dispatcher.mailboxCount(), "An idle mailbox is not kept");
+
+    // A new mailbox takes over on the next tick
+    dispatcher.dispatch(List.of(packet("second")), List.of(player));
+    dispatcher.endTick();
+    online.set(false);
+    executor.runAll();
+    assertEquals(List.of("first"), sent, "Nothing is sent to a player who left");
+    assertEquals(0, dispatcher.mailboxCount());
+
+    dispatcher.dispatch(List.of(packet("third")), List.of(player));
+    dispatcher.endTick();
+    assertEquals(0, dispatcher.mailboxCount(), "Offline players get no mailbox");
+  }
+
+  private ParticlePacket packet(String name) {
+    return (ParticlePacket) Proxy.newProxyInstance(ParticlePacket.class.getClassLoader(),
+        new Class<?>[] {ParticlePacket.class}, (proxy, method, args) -> {
+          if (method.getName().equals("sendTo")) {
+            sent.add(name);
+          }
+          return null;
+        });
+  }
+
+  private static Player player(AtomicBoolean online) {
+    return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] {Player.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "isOnline" -> online.get();
+          case "equals" -> proxy == args[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          default -> null;
+        });
+  }
+
+  // Runs the drains on the test thread, when asked
+  private static final class ManualExecutor extends AbstractExecutorService {
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private boolean shutdown;
+
+    void runAll() {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        task.run();
+      }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+
+    @Override
+    public void shutdown() {
+      shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      shutdown = true;
+      List<Runnable> pending = new ArrayList<>(tasks);
+      tasks.clear();
+      return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return isTerminated();
+    }
+  }
+}
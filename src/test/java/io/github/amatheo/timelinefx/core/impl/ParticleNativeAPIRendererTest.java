@@ -0,0 +1,80 @@
+package io.github.amatheo.timelinefx.core.impl;
+
+import com.github.fierioziy.particlenativeapi.api.packet.ParticlePacket;
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import io.github.amatheo.timelinefx.particle.impl.PooledParticleBuffer;
+import io.github.amatheo.timelinefx.transform.Transform;
+import org.bukkit.entity.Player;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticleNativeAPIRendererTest {
+
+  @Test
+  void velocitiesAreSentAsWorldSpaceDirections() {
+    RecordingType type = new RecordingType();
+    ParticleBuffer buffer = new PooledParticleBuffer(4);
+    buffer.add(new Vector3d(1, 0, 0), type, new Vector3d(1, 0, 0));
+    buffer.add(new Vector3d(0, 1, 0), type);
+    Transform transform = Transform.identity();
+    transform.position().set(10, 20, 30);
+    transform.rotation().rotateY(Math.PI / 2);
+    transform.scale().set(2, 2, 2);
+
+    new ParticleNativeAPIRenderer().render(buffer, transform, List.of(player()));
+    assertEquals(2, type.packets.size());
+
+    // Turned and scaled like the position, but not moved
+    double[] moving = type.packets.get(0);
+    assertVector(10, 20, 28, moving[0], moving[1], moving[2]);
+    assertVector(0, 0, -2, moving[3], moving[4], moving[5]);
+    assertEquals(1.0, moving[6], "The offset is the direction scaled by the speed");
+    assertEquals(0.0, moving[7], "A count of 0 makes the offset a direction");
+
+    double[] still = type.packets.get(1);
+    assertEquals(3, still.length, "A particle without a velocity is sent without an offset");
+    assertVector(10, 22, 30, still[0], still[1], still[2]);
+  }
+
+  private static void assertVector(double x, double y, double z, double actualX, double actualY, double actualZ) {
+    assertEquals(x, actualX, 1e-9);
+    assertEquals(y, actualY, 1e-9);
+    assertEquals(z, actualZ, 1e-9);
+  }
+
+  private static Player player() {
+    return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] {Player.class},
+        (proxy, method, args) -> method.getName().equals("isOnline") ? Boolean.TRUE : null);
+  }
+
+  // Records the arguments of each packet it creates
+  private static final class RecordingType implements ParticleType {
+    private final List<double[]> packets = new ArrayList<>();
+
+    @Override
+    public ParticlePacket packet(boolean far, double x, double y, double z) {
+      packets.add(new double[] {x, y, z});
+      return packet();
+    }
+
+    @Override
+    public ParticlePacket packet(boolean far, double x, double y, double z,
+                                 double offsetX, double offsetY, double offsetZ, double speed, int count) {
+      packets.add(new double[] {x, y, z, offsetX, offsetY, offsetZ, speed, count});
+      return packet();
+    }
+
+    private static ParticlePacket packet() {
+      return (ParticlePacket) Proxy.newProxyInstance(ParticlePacket.class.getClassLoader(),
+          new Class<?>[] {ParticlePacket.class}, (proxy, method, args) -> null);
+    }
+  }
+}
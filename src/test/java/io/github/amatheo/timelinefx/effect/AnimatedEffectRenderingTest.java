@@ -1,11 +1,18 @@
 package io.github.amatheo.timelinefx.effect;
 
 import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.animation.Versions;
 import io.github.amatheo.timelinefx.annotation.AnimatedProperty;
+import io.github.amatheo.timelinefx.effect.impl.CircleEffect;
 import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import io.github.amatheo.timelinefx.particle.ParticleVertex;
 import io.github.amatheo.timelinefx.particle.impl.PooledParticleBuffer;
+import org.joml.Vector3d;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
@@ -131,6 +138,183 @@ class AnimatedEffectRenderingTest {
     assertFalse(changed, "Same values should not trigger changes");
   }
 
+  @Test
+  void slotBackedParamsBindLikeMapBackedParams() {
+    TestEffectWithMixedProps effect = new TestEffectWithMixedProps("initial");
+    ParameterSchema schema = ParameterSchema.of(TestEffectWithMixedProps.class, List.of("extra", "radius"));
+    assertEquals(3, schema.size(), "Field names and extra names should share slots");
+
+    Object[] slots = new Object[schema.size()];
+    slots[schema.slotOf("radius")] = "12.5";
+    slots[schema.slotOf("extra")] = 7;
+    EvaluatedParams params = EvaluatedParams.ofSlots(schema, slots);
+
+    assertTrue(PropertyBinder.bindPropertiesAndDetectChanges(effect, params));
+    assertEquals(12.5, effect.radius, 0.001, "String values should be converted to the field type");
+    assertEquals("initial", effect.name, "Absent slots should leave the field untouched");
+    assertEquals(7, params.getInt("extra", 0), "Params should still be readable by name");
+    assertEquals(Map.of("radius", "12.5", "extra", 7), params.raw());
+    assertFalse(PropertyBinder.bindPropertiesAndDetectChanges(effect, params));
+  }
+
+  @Test
+  void versionedParamsOnlyBindChangedSlots() {
+    TestEffectWithMixedProps effect = new TestEffectWithMixedProps("initial");
+    ParameterSchema schema = ParameterSchema.of(TestEffectWithMixedProps.class, List.of());
+    int nameSlot = schema.slotOf("name");
+    int radiusSlot = schema.slotOf("radius");
+    Object[] slots = new Object[schema.size()];
+    long[] versions = new long[schema.size()];
+    slots[nameSlot] = "first";
+    versions[nameSlot] = 1L;
+    slots[radiusSlot] = 2.0;
+    versions[radiusSlot] = 1L;
+
+    EffectSamplingContext ctx = new EffectSamplingContext(0L, 0.05, new Random(123));
+    ParticleBuffer buffer = new PooledParticleBuffer(16);
+    effect.sample(ctx, EvaluatedParams.ofSlots(schema, slots, versions), buffer);
+    assertEquals("first", effect.name);
+    assertTrue(effect.propertyChanged("radius"));
+
+    // Same version: the slot is skipped, even though the field was changed behind the binder's back
+    effect.name = "local";
+    slots[radiusSlot] = 3.0;
+    versions[radiusSlot] = 2L;
+    effect.sample(ctx, EvaluatedParams.ofSlots(schema, slots, versions), buffer);
+    assertEquals("local", effect.name, "Unchanged slots should not be rebound");
+    assertEquals(3.0, effect.radius, 0.001);
+    assertEquals(List.of("radius"), effect.changedProperties());
+    assertFalse(effect.propertyChanged("name"));
+
+    // Untracked values are rebound on every sample
+    versions[nameSlot] = Versions.UNTRACKED;
+    effect.sample(ctx, EvaluatedParams.ofSlots(schema, slots, versions), buffer);
+    assertEquals("first", effect.name);
+    effect.name = "local";
+    effect.sample(ctx, EvaluatedParams.ofSlots(schema, slots, versions), buffer);
+    assertEquals("first", effect.name, "Untracked slots should always be rebound");
+  }
+
+  @Test
+  void cosmeticChangesPatchThePreviousFrame() {
+    ParticleType red = new MockParticleType("red");
+    ParticleType blue = new MockParticleType("blue");
+    CircleEffect effect = new CircleEffect(red);
+    EffectSamplingContext ctx = new EffectSamplingContext(0L, 0.05, new Random(123));
+    ParticleBuffer first = new PooledParticleBuffer(16);
+    ParticleBuffer second = new PooledParticleBuffer(16);
+
+    effect.sample(ctx, EvaluatedParams.fromValues(Map.of("radius", 2.0, "points", 8)), first);
+    assertEquals(8, first.size());
+
+    // Type and radius only: the previous frame is copied and patched in place
+    effect.sample(ctx, EvaluatedParams.fromValues(Map.of("particleType", blue, "radius", 4.0, "points", 8)), second);
+    assertEquals(8, second.size());
+    for (int i = 0; i < 8; i++) {
+      assertSame(blue, second.vertex(i).getParticleType());
+      assertEquals(first.vertex(i).getPos().length() * 2.0, second.vertex(i).getPos().length(), 1e-9);
+    }
+    assertSame(red, first.vertex(0).getParticleType(), "The previous frame should be left untouched");
+
+    // A change in the point count needs a full render
+    effect.sample(ctx, EvaluatedParams.fromValues(Map.of("particleType", blue, "radius", 4.0, "points", 12)), first);
+    assertEquals(12, first.size());
+    assertEquals(4.0, first.vertex(0).getPos().length(), 1e-9);
+  }
+
+  @Test
+  void changesWithoutRenderChangesFallBackToAFullRender() {
+    ParticleType type = new MockParticleType("type");
+    TestEffectAcceptingChanges effect = new TestEffectAcceptingChanges(type);
+    EffectSamplingContext ctx = new EffectSamplingContext(0L, 0.05, new Random(123));
+    ParticleBuffer first = new PooledParticleBuffer(16);
+    ParticleBuffer second = new ListParticleBuffer();
+
+    effect.sample(ctx, EvaluatedParams.fromValues(Map.of("count", 3)), first);
+    effect.sample(ctx, EvaluatedParams.fromValues(Map.of("count", 2)), second);
+    assertEquals(2, effect.renderCount);
+    assertEquals(2, second.size(), "The copied frame should be replaced, not appended to");
+    assertEquals(1, second.vertex(1).getParticleData());
+  }
+
+  @Test
+  void defaultCopyFromKeepsParticleData() {
+    ParticleType type = new MockParticleType("type");
+    ParticleBuffer source = new PooledParticleBuffer(4);
+    source.add(new Vector3d(1, 2, 3), type, new Vector3d(0, 1, 0));
+    source.vertex(0).setParticleData("data");
+    ParticleBuffer copy = new ListParticleBuffer();
+    copy.add(new Vector3d(), type);
+
+    copy.copyFrom(source);
+    assertEquals(1, copy.size());
+    assertEquals(new Vector3d(1, 2, 3), copy.vertex(0).getPos());
+    assertEquals(new Vector3d(0, 1, 0), copy.vertex(0).getVel());
+    assertEquals("data", copy.vertex(0).getParticleData());
+  }
+
+  // Test effect accepting changes without overriding renderChanges
+  private static class TestEffectAcceptingChanges extends AnimatedEffect {
+    @AnimatedProperty
+    private Integer count;
+
+    private final ParticleType type;
+    int renderCount = 0;
+
+    TestEffectAcceptingChanges(ParticleType type) {
+      this.type = type;
+    }
+
+    @Override
+    protected void render(EffectSamplingContext ctx, ParticleBuffer out) {
+      renderCount++;
+      for (int i = 0; i < count; i++) {
+        out.add(new Vector3d(i, 0, 0), type);
+        out.vertex(i).setParticleData(i);
+      }
+    }
+
+    @Override
+    protected boolean canRenderChanges() {
+      return true;
+    }
+  }
+
+  // Buffer relying on the default ParticleBuffer methods
+  private static class ListParticleBuffer implements ParticleBuffer {
+    private final List<ParticleVertex> vertices = new ArrayList<>();
+
+    @Override
+    public void clear() {
+      vertices.clear();
+    }
+
+    @Override
+    public void add(Vector3d pos, ParticleType particleType) {
+      vertices.add(new ParticleVertex(new Vector3d(pos), particleType));
+    }
+
+    @Override
+    public void add(Vector3d pos, ParticleType particleType, Vector3d velocity) {
+      vertices.add(new ParticleVertex(new Vector3d(pos), particleType, velocity == null ? null : new Vector3d(velocity)));
+    }
+
+    @Override
+    public int size() {
+      return vertices.size();
+    }
+
+    @Override
+    public List<ParticleVertex> view() {
+      return Collections.unmodifiableList(vertices);
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity) {
+      // Grows on demand
+    }
+  }
+
   // Test effect with constructor-initialized properties
   private static class TestEffectWithConstructorProps extends AnimatedEffect {
     @AnimatedProperty
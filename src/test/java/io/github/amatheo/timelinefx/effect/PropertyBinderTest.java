@@ -0,0 +1,53 @@
+package io.github.amatheo.timelinefx.effect;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.effect.impl.CircleEffect;
+import io.github.amatheo.timelinefx.effect.impl.DebugEffect;
+import io.github.amatheo.timelinefx.particle.ParticleBuffer;
+import io.github.amatheo.timelinefx.particle.impl.PooledParticleBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyBinderTest {
+
+  @Test
+  void publicFieldsAreBoundThroughTheGeneratedAccessor() throws ClassNotFoundException {
+    Class<?> accessor = Class.forName(CircleEffect.class.getName() + PropertyAccessor.SUFFIX);
+    assertTrue(PropertyAccessor.class.isAssignableFrom(accessor));
+    assertTrue(PropertyBinder.usesGeneratedAccessor(CircleEffect.class, "particleType"));
+    assertTrue(PropertyBinder.usesGeneratedAccessor(CircleEffect.class, "radius"));
+    assertTrue(PropertyBinder.usesGeneratedAccessor(CircleEffect.class, "points"));
+
+    ParticleType type = new ParticleType() {};
+    CircleEffect effect = new CircleEffect();
+    EvaluatedParams params = EvaluatedParams.fromValues(Map.of("particleType", type, "radius", 2.5, "points", 12.0));
+    assertTrue(PropertyBinder.bindPropertiesAndDetectChanges(effect, params));
+    assertSame(type, effect.particleType);
+    assertEquals(2.5, effect.radius, 1e-12);
+    assertEquals(12, effect.points.intValue());
+    assertFalse(PropertyBinder.bindPropertiesAndDetectChanges(effect, params), "Equal values are not rebound");
+  }
+
+  @Test
+  void privateFieldsFallBackToReflection() {
+    assertThrows(ClassNotFoundException.class,
+        () -> Class.forName(DebugEffect.class.getName() + PropertyAccessor.SUFFIX));
+    assertFalse(PropertyBinder.usesGeneratedAccessor(DebugEffect.class, "xParticleType"));
+    assertThrows(IllegalArgumentException.class, () -> PropertyBinder.usesGeneratedAccessor(DebugEffect.class, "x"));
+
+    ParticleType initial = new ParticleType() {};
+    ParticleType bound = new ParticleType() {};
+    DebugEffect effect = new DebugEffect(initial, initial, initial);
+    EvaluatedParams params = EvaluatedParams.fromValues(Map.of("xParticleType", bound));
+    assertTrue(PropertyBinder.bindPropertiesAndDetectChanges(effect, params));
+
+    ParticleBuffer out = new PooledParticleBuffer(64);
+    effect.sample(new EffectSamplingContext(0L, 0.05, new Random(1)), params, out);
+    assertSame(bound, out.vertex(1).getParticleType(), "The X axis should use the bound type");
+    assertSame(initial, out.vertex(out.size() - 1).getParticleType());
+  }
+}
@@ -0,0 +1,103 @@
+package io.github.amatheo.timelinefx.effect.geometry;
+
+import io.github.amatheo.timelinefx.particle.impl.PooledParticleBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeometryCacheTest {
+
+  @Test
+  void identicalShapesShareOneGeometry() {
+    GeometryCache cache = new GeometryCache(8);
+    UnitGeometry circle = cache.circle(16);
+    assertSame(circle, cache.circle(16));
+    assertNotSame(circle, cache.circle(17));
+    assertEquals(16, circle.size());
+    assertEquals(1.0, circle.x(0), 1e-12);
+    assertEquals(0.0, circle.z(0), 1e-12);
+
+    UnitGeometry sphere = cache.sphere(4, 8);
+    assertSame(sphere, cache.sphere(4, 8));
+    assertEquals(5 * 8, sphere.size());
+    assertEquals(1.0, sphere.y(0), 1e-12, "The first ring sits on the pole");
+    assertEquals(0, cache.circle(0).size());
+  }
+
+  @Test
+  void fibonacciSphereSpreadsPointsOverBothHemispheres() {
+    UnitGeometry sphere = new GeometryCache(4).fibonacciSphere(100);
+    assertEquals(100, sphere.size());
+    int north = 0;
+    for (int i = 0; i < sphere.size(); i++) {
+      double length = Math.sqrt(sphere.x(i) * sphere.x(i) + sphere.y(i) * sphere.y(i) + sphere.z(i) * sphere.z(i));
+      assertEquals(1.0, length, 1e-12);
+      if (sphere.y(i) > 0) north++;
+    }
+    assertEquals(50, north);
+    assertTrue(Math.abs(sphere.y(0)) < 1.0, "No point should sit exactly on a pole");
+  }
+
+  @Test
+  void leastRecentlyUsedGeometryIsEvicted() {
+    GeometryCache cache = new GeometryCache(2);
+    AtomicInteger builds = new AtomicInteger();
+    cache.get("a", () -> build(builds));
+    cache.get("b", () -> build(builds));
+    cache.get("a", () -> build(builds));
+    cache.get("c", () -> build(builds));
+    assertEquals(3, builds.get());
+    assertEquals(2, cache.size());
+
+    cache.get("a", () -> build(builds));
+    assertEquals(3, builds.get(), "Recently used geometry should be kept");
+    cache.get("b", () -> build(builds));
+    assertEquals(4, builds.get(), "Least recently used geometry should have been evicted");
+  }
+
+  @Test
+  void sampledEmissionKeepsTheRequestedShareOfPoints() {
+    UnitGeometry circle = new GeometryCache(4).circle(10_000);
+    PooledParticleBuffer out = new PooledParticleBuffer(16);
+    circle.emitSampled(out, 1.0, null, 0.25, new Random(42));
+    assertEquals(2_500, out.size(), 150);
+
+    out.clear();
+    circle.emitSampled(out, 1.0, null, 0.0, new Random(42));
+    assertEquals(0, out.size());
+    circle.emitSampled(out, 2.0, null, 1.0, new Random(42));
+    assertEquals(10_000, out.size());
+    assertEquals(2.0, out.vertex(0).getPos().x, 1e-12);
+  }
+
+  @Test
+  void asyncBuildsAreSharedAndCached() {
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    GeometryCache cache = new GeometryCache(4, tasks::add);
+    AtomicInteger builds = new AtomicInteger();
+
+    CompletableFuture<UnitGeometry> first = cache.getAsync("a", () -> build(builds));
+    CompletableFuture<UnitGeometry> second = cache.getAsync("a", () -> build(builds));
+    assertSame(first, second, "Requests for a key being built should share the build");
+    assertFalse(first.isDone());
+    assertNull(cache.getIfPresent("a"));
+
+    tasks.poll().run();
+    assertTrue(first.isDone());
+    assertEquals(1, builds.get());
+    assertSame(first.join(), cache.getIfPresent("a"));
+    assertTrue(cache.getAsync("a", () -> build(builds)).isDone(), "Cached geometry should not be rebuilt");
+    assertTrue(tasks.isEmpty());
+  }
+
+  private static UnitGeometry build(AtomicInteger builds) {
+    builds.incrementAndGet();
+    return UnitGeometry.of(new double[] {0, 1, 0});
+  }
+}
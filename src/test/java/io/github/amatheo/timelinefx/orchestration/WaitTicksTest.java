@@ -0,0 +1,114 @@
+package io.github.amatheo.timelinefx.orchestration;
+
+import io.github.amatheo.timelinefx.core.FrameContext;
+import io.github.amatheo.timelinefx.core.Playable;
+import io.github.amatheo.timelinefx.core.PlaybackContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitTicksTest {
+  // Server clock, only read by the engine: playables must go by the ticks they are given
+  private long now;
+  private final PlaybackContext ctx = new PlaybackContext(null, 0L, () -> now, 0.05, null, new Random(1),
+      null, 0.0, null);
+
+  @Test
+  void aWaitFinishesOnTheTickItWasWaitingFor() {
+    WaitTicks wait = new WaitTicks(2);
+    wait.start(ctx, 10L);
+    assertEquals(12L, wait.wakeTick());
+
+    tick(wait, 11L);
+    assertFalse(wait.isDone());
+    tick(wait, 12L);
+    assertTrue(wait.isDone());
+
+    WaitTicks none = new WaitTicks(0);
+    none.start(ctx, 12L);
+    assertTrue(none.isDone(), "A wait of no tick is done as soon as it starts");
+  }
+
+  @Test
+  void aSequenceStartsTheNextItemOnTheTickTheWaitFinished() {
+    StartRecorder next = new StartRecorder();
+    Sequence sequence = new Sequence(List.of(new WaitTicks(2), next));
+    sequence.start(ctx, 10L);
+    assertEquals(12L, sequence.wakeTick(), "The sequence sleeps as long as its wait");
+
+    tick(sequence, 11L);
+    assertEquals(-1L, next.startedAt);
+    tick(sequence, 12L);
+    assertEquals(12L, next.startedAt);
+    assertFalse(sequence.isDone());
+    tick(sequence, 13L);
+    assertTrue(sequence.isDone());
+  }
+
+  @Test
+  void aParallelFinishesWithItsLongestWait() {
+    WaitTicks shorter = new WaitTicks(1);
+    WaitTicks longer = new WaitTicks(3);
+    Parallel parallel = new Parallel(List.of(shorter, longer));
+    parallel.start(ctx, 0L);
+    assertEquals(1L, parallel.wakeTick());
+
+    tick(parallel, 1L);
+    assertTrue(shorter.isDone());
+    assertFalse(parallel.isDone());
+    assertEquals(3L, parallel.wakeTick(), "Only the waits still running count");
+    tick(parallel, 2L);
+    assertFalse(parallel.isDone());
+    tick(parallel, 3L);
+    assertTrue(parallel.isDone());
+  }
+
+  @Test
+  void itemsStartOnTheFrameTickWhenTheClockMovedOn() {
+    StartRecorder next = new StartRecorder();
+    WaitTicks second = new WaitTicks(2);
+    Sequence sequence = new Sequence(List.of(new WaitTicks(1), second, next));
+    sequence.start(ctx, 0L);
+
+    // The engine took its snapshot of tick 1, but the clock already reads 2
+    now = 2L;
+    sequence.tick(new FrameContext(ctx, 1L));
+    assertEquals(3L, second.wakeTick(), "The second wait counts from the frame it started in");
+    now = 4L;
+    sequence.tick(new FrameContext(ctx, 3L));
+    assertEquals(3L, next.startedAt);
+  }
+
+  private void tick(Playable playable, long tick) {
+    now = tick;
+    playable.tick(new FrameContext(ctx, tick));
+  }
+
+  // Records the tick it was started on, and finishes on its first tick
+  private static final class StartRecorder implements Playable {
+    private long startedAt = -1L;
+    private boolean done;
+
+    @Override
+    public void start(PlaybackContext ctx, long startTick) {
+      startedAt = startTick;
+    }
+
+    @Override
+    public void tick(FrameContext frame) {
+      done = true;
+    }
+
+    @Override
+    public boolean isDone() {
+      return done;
+    }
+
+    @Override
+    public void stop(PlaybackContext ctx) {
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.amatheo.timelinefx.particle.impl;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import io.github.amatheo.timelinefx.particle.ParticleVertex;
+import org.joml.Matrix4x3d;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticleClustererTest {
+
+  @Test
+  void denseVoxelsBecomeOneSpreadClusterInWorldSpace() {
+    ParticleType dust = new ParticleType() {};
+    PooledParticleBuffer buffer = new PooledParticleBuffer(16);
+    buffer.add(new Vector3d(0.1, 0.5, 0.5), dust);
+    buffer.add(new Vector3d(0.3, 0.5, 0.5), dust);
+    buffer.add(new Vector3d(0.5, 0.5, 0.5), dust);
+    buffer.add(new Vector3d(5.5, 0.5, 0.5), dust);
+
+    List<double[]> clusters = new ArrayList<>();
+    List<double[]> singles = new ArrayList<>();
+    ParticleClusterer clusterer = new ParticleClusterer(1.0, 3);
+    clusterer.cluster(buffer, new Matrix4x3d().translationRotateScale(
+        new Vector3d(10, 0, 0), new Quaterniond(), new Vector3d(1, 1, 1)), new ParticleClusterer.Sink() {
+      @Override
+      public void single(ParticleVertex vertex, double x, double y, double z) {
+        singles.add(new double[] {x, y, z});
+      }
+
+      @Override
+      public void cluster(ParticleType particleType, double x, double y, double z,
+                          double spreadX, double spreadY, double spreadZ, int count) {
+        assertSame(dust, particleType);
+        clusters.add(new double[] {x, y, z, spreadX, spreadY, spreadZ, count});
+      }
+    });
+
+    assertEquals(1, clusters.size());
+    double[] cluster = clusters.get(0);
+    assertEquals(10.3, cluster[0], 1e-9);
+    assertEquals(Math.sqrt(0.08 / 3), cluster[3], 1e-9);
+    assertEquals(0.0, cluster[4], 1e-9);
+    assertEquals(3, (int) cluster[6]);
+    assertEquals(1, singles.size());
+    assertEquals(15.5, singles.get(0)[0], 1e-9);
+  }
+}
@@ -0,0 +1,33 @@
+package io.github.amatheo.timelinefx.particle.impl;
+
+import com.github.fierioziy.particlenativeapi.api.particle.type.ParticleType;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticleDeduplicatorTest {
+
+  @Test
+  void coincidentParticlesOfTheSameTypeAreDropped() {
+    ParticleType red = new ParticleType() {};
+    ParticleType blue = new ParticleType() {};
+    PooledParticleBuffer source = new PooledParticleBuffer(16);
+    source.add(new Vector3d(0, 0, 0), red);
+    source.add(new Vector3d(0.01, 0, -0.01), red);
+    source.add(new Vector3d(0, 0, 0), blue);
+    source.add(new Vector3d(1, 0, 0), red);
+    source.add(new Vector3d(0, 0, 0), red, new Vector3d(0, 1, 0));
+
+    ParticleDeduplicator deduplicator = new ParticleDeduplicator(0.1);
+    PooledParticleBuffer target = new PooledParticleBuffer(16);
+    assertEquals(1, deduplicator.copyUnique(source, target));
+    assertEquals(4, target.size());
+    assertSame(blue, target.vertex(1).getParticleType());
+    assertNotNull(target.vertex(3).getVel(), "Particles with a velocity should be kept");
+
+    // The table is reused: nothing seen by the previous call is remembered
+    assertEquals(1, deduplicator.copyUnique(source, target));
+    assertEquals(4, target.size());
+  }
+}
@@ -5,6 +5,7 @@ import org.joml.Vector3d;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -226,4 +227,59 @@ class TransformHierarchyTest {
     double diffAngle = world.rotation().difference(parent.rotation()).angle();
     assertTrue(Math.abs(diffAngle) < EPSILON, "Identity child preserves parent rotation");
   }
+
+  @Test
+  void composeIntoParentMatchesAllocatingCompose() {
+    Transform parent = new Transform(
+        new Vector3d(1, 2, 3),
+        new Quaterniond().rotateY(Math.PI / 3),
+        new Vector3d(2, 2, 2)
+    );
+    Transform child = new Transform(
+        new Vector3d(4, -1, 0.5),
+        new Quaterniond().rotateX(Math.PI / 5),
+        new Vector3d(0.5, 1, 3)
+    );
+
+    Transform expected = Transform.compose(parent, child);
+    Transform result = Transform.compose(parent, child, parent);
+
+    assertTrue(result == parent, "Result should be written into the output transform");
+    assertEquals(expected.position().x, result.position().x, EPSILON);
+    assertEquals(expected.position().y, result.position().y, EPSILON);
+    assertEquals(expected.position().z, result.position().z, EPSILON);
+    assertEquals(expected.rotation().w, result.rotation().w, EPSILON);
+    assertEquals(expected.rotation().y, result.rotation().y, EPSILON);
+    assertEquals(expected.scale().z, result.scale().z, EPSILON);
+  }
+
+  @Test
+  void transformNodeRecomposesOnlyWhenAnAncestorChanges() {
+    TransformNode root = TransformNode.root();
+    TransformNode group = root.createChild();
+    TransformNode layer = group.createChild();
+    root.setLocal(new Transform(new Vector3d(10, 0, 0), new Quaterniond().rotateY(Math.PI / 2), new Vector3d(1, 1, 1)));
+    group.setLocal(new Transform(new Vector3d(0, 2, 0), new Quaterniond().identity(), new Vector3d(2, 2, 2)));
+    layer.setLocal(new Transform(new Vector3d(1, 0, 0), new Quaterniond().identity(), new Vector3d(1, 1, 1)));
+
+    Transform expected = Transform.compose(Transform.compose(root.local(), group.local()), layer.local());
+    Transform world = layer.worldTransform();
+    assertEquals(expected.position().x, world.position().x, EPSILON);
+    assertEquals(expected.position().y, world.position().y, EPSILON);
+    assertEquals(expected.position().z, world.position().z, EPSILON);
+
+    Vector3d viaMatrix = layer.worldMatrix().transformPosition(new Vector3d(0.5, 0, 0), new Vector3d());
+    Vector3d viaTransform = world.rotation().transform(new Vector3d(0.5, 0, 0).mul(world.scale())).add(world.position());
+    assertEquals(viaTransform.x, viaMatrix.x, EPSILON);
+    assertEquals(viaTransform.y, viaMatrix.y, EPSILON);
+    assertEquals(viaTransform.z, viaMatrix.z, EPSILON);
+
+    long version = layer.worldVersion();
+    assertFalse(group.setLocal(group.local()), "Setting an equal transform should not mark the node dirty");
+    assertEquals(version, layer.worldVersion(), "Unchanged ancestors should not recompose the layer");
+
+    root.setLocal(Transform.identity());
+    assertTrue(layer.worldVersion() > version, "A root change should propagate to descendants");
+    assertEquals(0.0, layer.worldTransform().position().x - 2.0, EPSILON);
+  }
 }